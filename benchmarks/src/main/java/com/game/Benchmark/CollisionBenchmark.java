@@ -0,0 +1,40 @@
+package com.game.Benchmark;
+
+import com.game.Util.CollisionCenter;
+import com.game.View.CustomStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single collision check of the player against all platforms,
+ * i.e. the broad phase of the CollisionGrid followed by the narrow phase
+ * of the CollisionCenter.
+ *
+ * @see com.game.Util.CollisionCenter
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CollisionBenchmark {
+    @Param({"4", "100", "1000", "10000"})
+    public int platforms;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Worlds.populate(platforms);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CustomStorage.clear();
+    }
+
+    @Benchmark
+    public boolean isMovementPossible() {
+        return CollisionCenter.isMovementPossible();
+    }
+}
@@ -0,0 +1,62 @@
+package com.game.Benchmark;
+
+import com.game.Model.Player;
+import com.game.View.CustomStorage;
+import com.game.View.GameCanvas;
+import org.openjdk.jmh.annotations.*;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures capturing a whole frame and drawing it off the screen, the way
+ * the GameCanvas does it, into an image of the window's size.
+ *
+ * @see com.game.View.GameCanvas
+ * @see com.game.View.SceneBuffer
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RenderBenchmark {
+    @Param({"4", "100", "1000", "10000"})
+    public int platforms;
+
+    private GameCanvas canvas;
+
+    private Player player;
+
+    private BufferedImage frame;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        player = Worlds.populate(platforms);
+
+        canvas = new GameCanvas(Color.lightGray);
+        canvas.setSize(700, 680);
+        frame = new BufferedImage(700, 680, BufferedImage.TYPE_INT_RGB);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        CustomStorage.clear();
+    }
+
+    @Benchmark
+    public BufferedImage drawFrame() {
+        canvas.getScenes().capture(player);
+
+        Graphics g = frame.createGraphics();
+        try {
+            canvas.drawScene(g);
+        } finally {
+            g.dispose();
+        }
+
+        return frame;
+    }
+}
@@ -0,0 +1,49 @@
+package com.game.Benchmark;
+
+import com.game.Handler.Simulation;
+import com.game.Util.ParallelCenter;
+import com.game.View.CustomStorage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a full simulation step: the movement of every platform and
+ * the collision check, with loops split across cores or not. The world is
+ * rebuilt for each iteration, since creatures which collided stop moving.
+ *
+ * @see com.game.Handler.Simulation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class TickBenchmark {
+    @Param({"4", "100", "1000", "10000"})
+    public int platforms;
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    private Simulation simulation;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        ParallelCenter.setParallel(parallel);
+        Worlds.populate(platforms);
+        simulation = new Simulation();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        CustomStorage.clear();
+    }
+
+    @Benchmark
+    public long step() {
+        simulation.step();
+        return simulation.getTick();
+    }
+}
@@ -0,0 +1,59 @@
+package com.game.Benchmark;
+
+import com.game.Model.Platform;
+import com.game.Model.Player;
+import com.game.Util.CollisionGrid;
+import com.game.Util.RandomCenter;
+import com.game.View.CustomStorage;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+/**
+ * Builds game worlds for benchmarks: a player and the given number of
+ * platforms scattered over the play field. Platforms use a small sprite,
+ * so large numbers of them still fit the field. The same seed always
+ * gives the same world and the same moves.
+ */
+final class Worlds {
+    /**
+     * The side of platforms' sprite.
+     */
+    static final int SPRITE_SIZE = 16;
+
+    /**
+     * The seed of platforms' locations.
+     */
+    static final long SEED = 19_06_14L;
+
+    private Worlds() { }
+
+    /**
+     * Clear the CustomStorage and fill it with a new world.
+     *
+     * @param platforms The number of platforms.
+     * @return The world's player.
+     */
+    static Player populate(int platforms) {
+        CustomStorage.clear();
+        RandomCenter.reset(SEED);
+
+        BufferedImage sprite = new BufferedImage(SPRITE_SIZE, SPRITE_SIZE, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = sprite.createGraphics();
+        g.setColor(Color.darkGray);
+        g.fillRect(0, 0, SPRITE_SIZE, SPRITE_SIZE);
+        g.dispose();
+
+        Player player = new Player();
+
+        Random random = new Random(SEED);
+        for(int i = 0; i < platforms; i++) {
+            new Platform(sprite,
+                    random.nextInt(CollisionGrid.FIELD_WIDTH - SPRITE_SIZE),
+                    random.nextInt(CollisionGrid.FIELD_HEIGHT - SPRITE_SIZE));
+        }
+
+        return player;
+    }
+}
@@ -0,0 +1,55 @@
+package com.game.Handler;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * A saved log keeps the session's level, so the session is replayed on
+ * the world it was recorded on.
+ */
+public class InputLogTest {
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void levelAndEventsAreSaved() throws IOException {
+        InputLog log = new InputLog(42, "levels/wide.lvl");
+        log.record(3, InputLog.DRAG, 20000, 650);
+        log.record(5, InputLog.RELEASE, 0, 0);
+        log.finish(10);
+
+        InputLog loaded = save(log);
+
+        assertEquals(42, loaded.getSeed());
+        assertEquals("levels/wide.lvl", loaded.getLevel());
+        assertEquals(10, loaded.getLength());
+        assertEquals(2, loaded.size());
+        assertEquals(20000, loaded.getX(0));
+        assertEquals(5, loaded.getTick(1));
+    }
+
+    @Test
+    public void unknownLevelIsKeptUnknown() throws IOException {
+        assertNull(save(new InputLog(42, null)).getLevel());
+    }
+
+    @Test(expected = UncheckedIOException.class)
+    public void replayOfAnUnknownLevelIsRejected() {
+        ReplayGame.prepare(new InputLog(42, null));
+    }
+
+    private InputLog save(InputLog log) throws IOException {
+        Path file = folder.newFile().toPath();
+        log.save(file);
+
+        return InputLog.load(file);
+    }
+}
@@ -0,0 +1,89 @@
+package com.game.Model;
+
+import com.game.Util.CollisionGrid;
+import com.game.Util.RandomCenter;
+import com.game.View.CustomStorage;
+import org.junit.After;
+import org.junit.Test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Far platforms, moved once per FAR_PERIOD steps, keep the pace of near
+ * ones, including the steps made past their turns, and platforms of
+ * large worlds move within the windows of their spawn points.
+ */
+public class PlatformTest {
+    private static final BufferedImage SPRITE = new BufferedImage(100, 20, BufferedImage.TYPE_INT_ARGB);
+
+    /**
+     * A near region no platform intersects.
+     */
+    private static final Rectangle NOWHERE = new Rectangle(-100000, -100000, 1, 1);
+
+    private static final int STEPS = Platform.FAR_PERIOD * 100;
+
+    @After
+    public void tearDown() {
+        CustomStorage.clear();
+    }
+
+    @Test
+    public void farPlatformsKeepThePaceOfNearOnes() {
+        createPlatforms();
+        for(int tick = 0; tick < STEPS; tick++) {
+            Platform.moveAll();
+        }
+        int[] nearXs = Arrays.copyOf(EntityStore.xs(), EntityStore.size());
+        int[] nearYs = Arrays.copyOf(EntityStore.ys(), EntityStore.size());
+
+        createPlatforms();
+        for(int tick = 0; tick < STEPS; tick++) {
+            Platform.moveAll(tick, NOWHERE, null);
+        }
+
+        assertArrayEquals(nearXs, Arrays.copyOf(EntityStore.xs(), EntityStore.size()));
+        assertArrayEquals(nearYs, Arrays.copyOf(EntityStore.ys(), EntityStore.size()));
+    }
+
+    @Test
+    public void platformsOfAWideLevelMoveBothWays() {
+        CustomStorage.clear();
+        RandomCenter.reset(7);
+        Platform.setRange(100, 700);
+        Platform.setField(20000, 700);
+
+        try {
+            Platform platform = new Platform(SPRITE, 9500, 300);
+            int minX = platform.getX(), maxX = platform.getX();
+
+            for(int tick = 0; tick < 20000; tick++) {
+                Platform.moveAll();
+                minX = Math.min(minX, platform.getX());
+                maxX = Math.max(maxX, platform.getX());
+            }
+
+            // the window of 700 pixels containing the spawn point
+            assertTrue("moved left: " + minX, minX < 9500);
+            assertTrue("moved right: " + maxX, maxX > 9500);
+            assertTrue(minX >= 9100 && maxX + platform.getWidth() <= 9800);
+        } finally {
+            Platform.setRange(100, 650);
+            Platform.setField(CollisionGrid.FIELD_WIDTH, CollisionGrid.FIELD_HEIGHT);
+        }
+    }
+
+    private static void createPlatforms() {
+        CustomStorage.clear();
+        RandomCenter.reset(7);
+
+        for(int i = 0; i < 32; i++) {
+            new Platform(SPRITE, (i % 4) * 150, (i / 4) * 80);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.game.Util;
+
+import com.game.Model.Creature;
+import com.game.Model.Platform;
+import com.game.Model.Player;
+import com.game.View.CollisionEvent;
+import com.game.View.CustomStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The gameplay rules of the narrow phase: which pairs of a player and a
+ * platform collide, and where a player passing through a platform is
+ * moved back to.
+ */
+public class CollisionCenterTest {
+    /**
+     * The platforms' sprite: 100x20.
+     */
+    private static final BufferedImage SPRITE = new BufferedImage(100, 20, BufferedImage.TYPE_INT_ARGB);
+
+    private final Contact contact = new Contact();
+
+    private Player player;
+    private int width;
+
+    @Before
+    public void setUp() {
+        CustomStorage.clear();
+
+        player = new Player(0, 0);
+        width = player.getWidth();
+    }
+
+    @After
+    public void tearDown() {
+        CustomStorage.clear();
+    }
+
+    @Test
+    public void overlappingBoundsCollide() {
+        player.setVector(Creature.Vector.RIGHT);
+        Platform platform = createPlatform(width - 10, 10, Creature.Vector.NONE);
+
+        assertTrue(collides(platform));
+        assertEquals(10, contact.getDepth());
+        assertEquals(CollisionEvent.Side.RIGHT, contact.getSide());
+    }
+
+    @Test
+    public void touchingBoundsCollide() {
+        player.setVector(Creature.Vector.RIGHT);
+        Platform platform = createPlatform(width, 10, Creature.Vector.NONE);
+
+        assertTrue(collides(platform));
+        assertEquals(0, contact.getDepth());
+    }
+
+    @Test
+    public void apartBoundsDoNotCollide() {
+        player.setVector(Creature.Vector.RIGHT);
+        Platform platform = createPlatform(width + 1, 10, Creature.Vector.NONE);
+
+        assertFalse(collides(platform));
+    }
+
+    @Test
+    public void touchingCountsWhenOnlyThePlayerMoves() {
+        player.setVector(Creature.Vector.DOWN);
+        Platform platform = createPlatform(width, 10, Creature.Vector.NONE);
+
+        assertTrue(collides(platform));
+    }
+
+    @Test
+    public void touchingCountsWhenOnlyThePlatformMoves() {
+        player.setVector(Creature.Vector.NONE);
+        Platform platform = createPlatform(width, 10, Creature.Vector.LEFT);
+
+        assertTrue(collides(platform));
+    }
+
+    @Test
+    public void touchingDoesNotCountWhenNeitherMoves() {
+        player.setVector(Creature.Vector.NONE);
+        Platform platform = createPlatform(width, 10, Creature.Vector.NONE);
+
+        assertFalse(collides(platform));
+    }
+
+    @Test
+    public void overlappingDoesNotCountWhenNeitherMoves() {
+        player.setVector(Creature.Vector.NONE);
+        Platform platform = createPlatform(width - 10, 10, Creature.Vector.NONE);
+
+        assertFalse(collides(platform));
+    }
+
+    @Test
+    public void fastMoverPassingThroughCollides() {
+        player.setVector(Creature.Vector.RIGHT);
+        Platform platform = createPlatform(150, 10, Creature.Vector.NONE);
+
+        // a single step from the left of the platform to the right of it
+        player.updateCoord(300, 0);
+
+        assertFalse(contact(platform).isTouching());
+        assertTrue(collides(platform));
+
+        CollisionCenter.rewind(player, platform);
+
+        assertEquals(150 - width, player.getX());
+        assertEquals(0, player.getY());
+        assertContact(platform, CollisionEvent.Side.RIGHT);
+    }
+
+    @Test
+    public void fastMoverPassingThroughMovingPlatformIsRewoundToIt() {
+        player.setVector(Creature.Vector.RIGHT);
+        Platform platform = createPlatform(150, 10, Creature.Vector.RIGHT);
+
+        // both move in the same step, the player passes the platform
+        platform.updateCoord(170, 10);
+        player.updateCoord(300, 0);
+
+        assertTrue(collides(platform));
+
+        CollisionCenter.rewind(player, platform);
+
+        assertEquals(170 - width, player.getX());
+        assertContact(platform, CollisionEvent.Side.RIGHT);
+    }
+
+    @Test
+    public void fastMoverPassingThroughVerticallyIsRewoundAbove() {
+        player.setVector(Creature.Vector.DOWN);
+        Platform platform = createPlatform(0, 200, Creature.Vector.UP);
+
+        platform.updateCoord(0, 190);
+        player.updateCoord(0, 400);
+
+        assertTrue(collides(platform));
+
+        CollisionCenter.rewind(player, platform);
+
+        assertEquals(190 - player.getHeight(), player.getY());
+        assertContact(platform, CollisionEvent.Side.BOTTOM);
+    }
+
+    @Test
+    public void fastMoverPassingByDoesNotCollide() {
+        player.setVector(Creature.Vector.RIGHT);
+        Platform platform = createPlatform(150, player.getHeight() + 10, Creature.Vector.NONE);
+
+        player.updateCoord(300, 0);
+
+        assertFalse(collides(platform));
+    }
+
+    /**
+     * Create a platform at rest, so its movement since the previous check
+     * starts at the given place.
+     */
+    private Platform createPlatform(int x, int y, Creature.Vector vector) {
+        Platform platform = new Platform(SPRITE, x, y);
+        platform.setVector(vector);
+
+        return platform;
+    }
+
+    private boolean collides(Platform platform) {
+        return CollisionCenter.collides(player.getIndex(), platform.getIndex(), contact);
+    }
+
+    private Contact contact(Platform platform) {
+        return CollisionCenter.resolve(player.getIndex(), platform.getIndex(), contact);
+    }
+
+    /**
+     * The player touches the platform without penetrating it.
+     */
+    private void assertContact(Platform platform, CollisionEvent.Side side) {
+        Contact result = contact(platform);
+
+        assertTrue(result.isTouching());
+        assertEquals(0, result.getDepth());
+        assertEquals(side, result.getSide());
+    }
+}
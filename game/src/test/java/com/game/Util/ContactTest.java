@@ -0,0 +1,67 @@
+package com.game.Util;
+
+import com.game.View.CollisionEvent;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * The sides, normals and depths of contacts of a 50x50 box at (100, 100)
+ * with boxes pushed into it from each side by 5 pixels.
+ */
+public class ContactTest {
+    private final Contact contact = new Contact();
+
+    @Test
+    public void leftSide() {
+        contact.set(100, 100, 50, 50, 55, 110, 50, 20);
+
+        assertContact(CollisionEvent.Side.LEFT, 1, 0, 5);
+    }
+
+    @Test
+    public void rightSide() {
+        contact.set(100, 100, 50, 50, 145, 110, 50, 20);
+
+        assertContact(CollisionEvent.Side.RIGHT, -1, 0, 5);
+    }
+
+    @Test
+    public void topSide() {
+        contact.set(100, 100, 50, 50, 110, 55, 20, 50);
+
+        assertContact(CollisionEvent.Side.TOP, 0, 1, 5);
+    }
+
+    @Test
+    public void bottomSide() {
+        contact.set(100, 100, 50, 50, 110, 145, 20, 50);
+
+        assertContact(CollisionEvent.Side.BOTTOM, 0, -1, 5);
+    }
+
+    @Test
+    public void touchingEdgesHaveNoDepth() {
+        contact.set(100, 100, 50, 50, 150, 110, 50, 20);
+
+        assertContact(CollisionEvent.Side.RIGHT, -1, 0, 0);
+    }
+
+    @Test
+    public void apartBoundsDoNotTouch() {
+        contact.set(100, 100, 50, 50, 151, 110, 50, 20);
+
+        assertFalse(contact.isTouching());
+        assertEquals(-1, contact.getDepth());
+    }
+
+    private void assertContact(CollisionEvent.Side side, int normalX, int normalY, int depth) {
+        assertTrue(contact.isTouching());
+        assertEquals(side, contact.getSide());
+        assertEquals(normalX, contact.getNormalX());
+        assertEquals(normalY, contact.getNormalY());
+        assertEquals(depth, contact.getDepth());
+    }
+}
@@ -0,0 +1,86 @@
+package com.game.Util;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Places and ranges of a level are checked against its field, errors
+ * name the line they were found on.
+ */
+public class LevelTest {
+    @Test
+    public void placesWithinTheFieldAreRead() throws IOException {
+        Level level = read("world 300 200", "range 50 200", "player 0 0", "platform 2.png 299 199");
+
+        assertEquals(1, level.getPlatformCount());
+        assertEquals(299, level.getPlatformX(0));
+        assertEquals(199, level.getPlatformY(0));
+    }
+
+    @Test
+    public void platformOutsideTheFieldIsRejected() {
+        assertRejected(4, "world 300 200", "range 50 200", "platform 2.png 300 10");
+        assertRejected(4, "world 300 200", "range 50 200", "platform 2.png 10 -1");
+    }
+
+    @Test
+    public void playerOutsideTheFieldIsRejected() {
+        assertRejected(4, "world 300 200", "range 50 200", "player 10 200");
+    }
+
+    @Test
+    public void rangeOfAWideFieldIsCheckedOnEachAxis() throws IOException {
+        Level level = read("world 20000 700", "range 100 700", "platform 2.png 10800 300");
+
+        assertEquals(700, level.getHighRange());
+        assertRejected(3, "world 20000 700", "range 100 701");
+        assertRejected(3, "world 700 20000", "range 100 701");
+    }
+
+    @Test
+    public void rangeBeyondTheFieldIsRejected() {
+        assertRejected(3, "world 300 200", "range 50 201");
+    }
+
+    @Test
+    public void lowsBeyondHighsAreRejected() {
+        assertRejected(3, "world 300 200", "range 150 100");
+    }
+
+    @Test
+    public void worldAfterPlacesIsRejected() {
+        assertRejected(3, "player 10 10", "world 300 200");
+    }
+
+    @Test
+    public void defaultsNotFittingTheFieldAreRejected() {
+        try {
+            read("world 300 200");
+            fail("The default range is beyond the field");
+        } catch(IOException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().startsWith("Defaults:"));
+        }
+    }
+
+    private static Level read(String... lines) throws IOException {
+        return Level.read(new StringReader("snake-level 1\n" + String.join("\n", lines) + "\n"));
+    }
+
+    /**
+     * @param line The number of the rejected line (the header is the first one).
+     */
+    private static void assertRejected(int line, String... lines) {
+        try {
+            read(lines);
+            fail("The level should be rejected");
+        } catch(IOException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().startsWith("Line " + line + ":"));
+        }
+    }
+}
@@ -1,9 +1,14 @@
 package com.game.Handler;
 
-import com.game.Model.Creature;
-import com.game.Model.Platform;
+import com.game.Model.EntityStore;
 import com.game.Model.Player;
-import com.game.Util.CollisionCenter;
+import com.game.Util.AssetCenter;
+import com.game.Util.LeaderboardCenter;
+import com.game.Util.LevelCenter;
+import com.game.Util.MetricsCenter;
+import com.game.Util.RandomCenter;
+import com.game.Util.ScoreCenter;
+import com.game.Util.StatisticsCenter;
 import com.game.View.*;
 
 import javax.swing.*;
@@ -11,14 +16,24 @@ import javax.swing.event.MenuEvent;
 import javax.swing.event.MenuListener;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
 
 /**
  * The main GUI generator and handler. Generates all
  * services, menus and other widgets, playing the role
  * of the JFrame main window. Also controls player's
  * movement on itself via listening MouseEvent objects.
- * Declare a timer for checking the game status and if
- * the game is not active show the result menu.
+ * Drive the game with a single GameLoop which advances
+ * the simulation on its own thread and captures frames of
+ * the scene, which are shown on the event dispatch thread;
+ * if the game is not active anymore, the result menu is shown.
+ * The window switches between scenes (the main menu, the game
+ * and the result menu) keeping all its widgets, and the world
+ * is built once and reset in place on each new game.
  *
  * This module can be loaded externally if it is
  * necessary, e.g. for a multi-games client.
@@ -26,12 +41,17 @@ import java.awt.event.*;
  * @see java.awt.event.MouseEvent
  * @see java.awt.event.MouseListener
  * @see java.awt.event.MouseMotionListener
+ * @see com.game.Handler.GameLoop
+ * @see com.game.Handler.Scene
+ * @see com.game.View.SceneBuffer
  *
  * Created by E. Mozharovsky on 19.06.14.
  */
-public class GameHandler extends JFrame implements ActionListener {
+public class GameHandler extends JFrame {
     // constants
 
+    private static final long serialVersionUID = 1L;
+
     /**
      * Window's width.
      */
@@ -42,6 +62,18 @@ public class GameHandler extends JFrame implements ActionListener {
      */
     private static final int HEIGHT = 730;
 
+    /**
+     * The system property naming the file a finished session's InputLog
+     * is saved to (it is not saved if the property is not set).
+     */
+    public static final String RECORD_PROPERTY = "snake.record";
+
+    /**
+     * Cursors shown while the player's model is dragged and otherwise.
+     */
+    private static final Cursor HAND_CURSOR    = Cursor.getPredefinedCursor(Cursor.HAND_CURSOR);
+    private static final Cursor DEFAULT_CURSOR = Cursor.getDefaultCursor();
+
     // creatures
 
     /**
@@ -50,29 +82,71 @@ public class GameHandler extends JFrame implements ActionListener {
     private Player        player;
 
     /**
-     * An array of non-playable platforms.
+     * Widgets of creatures in the COMPONENTS render mode by indices of
+     * their entities.
+     */
+    private CreatureView[] views;
+
+    /**
+     * Widgets visible in the COMPONENTS render mode.
      */
-    private Platform[] platforms;
+    private final List<CreatureView> shownViews = new ArrayList<>();
+
+    /**
+     * Frames of the scene captured by the loop and shown on the screen.
+     */
+    private final SceneBuffer scenes = new SceneBuffer();
 
     // game resources
 
     /**
-     * A game over control timer.
+     * The game world's update logic, recording the player's inputs.
+     */
+    private Simulation simulation;
+
+    /**
+     * The loop advancing the game world.
      */
-    private Timer timer;
+    private GameLoop loop;
 
     /**
-     * The game's status flag.
+     * The panel displaying all creatures (null until the first game).
      */
-    private boolean isGameStarted = false;
+    private JComponent gamePanel;
+
+    /**
+     * The panel of the main menu (null until it is shown).
+     */
+    private JPanel menuPanel;
+
+    /**
+     * The result menu and its label of the score (null until the first
+     * game is over).
+     */
+    private JDialog resultMenu;
+    private JLabel  resultScore;
+
+    /**
+     * The way creatures are displayed.
+     */
+    private final RenderMode renderMode = RenderMode.fromProperty();
+
+    /**
+     * The canvas rendered by the loop in the ACTIVE render mode.
+     */
+    private ActiveCanvas activeCanvas;
+
+    /**
+     * The current scene.
+     */
+    private Scene scene = Scene.MENU;
 
     /**
      * Create a new object of GameHandler, load all dependencies
      * and initialize main menu waiting for player's actions.
      *
-     * Parameters used to create a new window on the previous location.
-     * @param x The previous X-coordinate.
-     * @param y The previous Y-coordinate.
+     * @param x The window's X-coordinate.
+     * @param y The window's Y-coordinate.
      */
     public GameHandler(int x, int y) {
         // installation of the window
@@ -82,9 +156,12 @@ public class GameHandler extends JFrame implements ActionListener {
         getContentPane().setBackground(Color.lightGray);
 
         // main menu initialization
-        initMainMenu();
+        showMainMenu();
 
-        // bar initialization
+        // bar initialization (menus should be heavyweight to be shown over an active canvas)
+        if(renderMode == RenderMode.ACTIVE) {
+            JPopupMenu.setDefaultLightWeightPopupEnabled(false);
+        }
         initMenuBar();
 
         // further installation work
@@ -94,41 +171,128 @@ public class GameHandler extends JFrame implements ActionListener {
     }
 
     /**
-     * In fact, start a game. Initialize creatures (player and
-     * platforms) and adding them to a game panel which will be
-     * set as the window's content pane. Add the mouse adapter for
-     * listening mouse events.
+     * In fact, start a game. The world is built on the first game and
+     * reset in place on the next ones, with a new seed, so a restart
+     * does not create any widgets or creatures. The loop is stopped, so
+     * the world is changed here and its first frame is shown before the
+     * loop is started.
      */
-    private void initCreatures() {
-        isGameStarted = true;
-        timer = new Timer(20, this);
-        timer.start();
+    private void startGame() {
+        ScoreCenter.cleanScore();
+        RandomCenter.reset();
+
+        if(simulation == null) {
+            initCreatures();
+        } else {
+            World.reset();
+            simulation.restart();
+        }
+
+        // the camera shows as much of the world as the panel does
+        showPanel(gamePanel);
+        Camera.setViewport(gamePanel.getWidth(), gamePanel.getHeight());
+        Camera.reset();
+        captureFrame();
+
+        // render in step with the refresh rate of the screen showing the canvas if possible
+        if(activeCanvas != null) {
+            loop.setFrameRate(activeCanvas.paceFrameRate(GameLoop.getTargetFrameRate()));
+        }
 
-        // change the window title
-        setTitle("SNAKE [Status: RUNNING]");
+        setScene(Scene.RUNNING);
+        onFrame();
 
+        loop.start();
+    }
+
+    /**
+     * Initialize creatures (player and platforms) and adding them
+     * to a game panel which will be set as the window's content
+     * pane. In the CANVAS render mode creatures are not added, since
+     * the panel draws them itself, in the ACTIVE one the panel contains
+     * an ActiveCanvas drawing them. Add the mouse adapter for listening
+     * mouse events and create the loop, which is not started yet.
+     */
+    private void initCreatures() {
         // make a game panel which is 23 pixels below of the frame's start point
-        JPanel gamePanel = new JPanel();
+        gamePanel = renderMode == RenderMode.CANVAS ? new GameCanvas(Color.lightGray, scenes) : new JPanel();
         gamePanel.setBounds(0, 23, WIDTH, HEIGHT);
         gamePanel.setLayout(null);
         gamePanel.setBackground(Color.lightGray);
 
         // create and add creatures
-        player = new Player();
+        player = World.createDefault();
+
+        if(renderMode == RenderMode.COMPONENTS) {
+            MetricsOverlay overlay = new MetricsOverlay();
+            overlay.setBounds(0, 0, WIDTH, HEIGHT);
+            gamePanel.add(overlay); // the first child is painted on top
+
+            views = new CreatureView[EntityStore.size()];
+            CustomStorage.getPlatforms().forEach(platform -> views[platform.getIndex()] = new CreatureView(platform));
+            views[player.getIndex()] = new CreatureView(player);
+
+            for(CreatureView view : views)
+                if(view != null)
+                    gamePanel.add(view);
+        } else if(renderMode == RenderMode.ACTIVE) {
+            activeCanvas = new ActiveCanvas(Color.lightGray, scenes);
+            activeCanvas.setBounds(0, 0, WIDTH, HEIGHT);
+            gamePanel.add(activeCanvas);
+        }
 
-        platforms = new Platform[4];
-        platforms[0] = new Platform(new ImageIcon("resources/2.png").getImage(), 150, 150);
-        platforms[1] = new Platform(new ImageIcon("resources/3.png").getImage(), 300, 300);
-        platforms[2] = new Platform(new ImageIcon("resources/3.png").getImage(), 500, 300);
-        platforms[3] = new Platform(new ImageIcon("resources/2.png").getImage(), 300, 550);
+        // add an adapter to control player's actions
+        addMouseAdapter(activeCanvas != null ? activeCanvas : gamePanel);
 
-        for(Creature creature : platforms)
-            gamePanel.add(creature);
-        gamePanel.add(player);
-        setContentPane(gamePanel);
+        // the frame rate is paced once the panel is shown, see startGame()
+        simulation = new Simulation(player);
+        loop = new GameLoop(simulation, this::captureFrame, this::onFrame, GameLoop.getTargetFrameRate());
+    }
 
-        // add an adapter to control player's actions
-        addMouseAdapter(gamePanel);
+    /**
+     * Show the main menu, stopping the game if it is played. The menu's
+     * widgets are created once.
+     */
+    private void showMainMenu() {
+        if(loop != null) {
+            loop.stop();
+        }
+
+        if(menuPanel == null) {
+            initMainMenu();
+        }
+
+        // map the leaderboard and load the history while the player is in the menu
+        LeaderboardCenter.open();
+        StatisticsCenter.refresh();
+
+        setCursor(DEFAULT_CURSOR);
+        showPanel(menuPanel);
+        setScene(Scene.MENU);
+    }
+
+    /**
+     * Switch to the scene and show its title.
+     *
+     * @param scene The new scene.
+     */
+    private void setScene(Scene scene) {
+        this.scene = scene;
+        setTitle(scene.getTitle());
+    }
+
+    /**
+     * Make the panel the window's content pane, laying it out at once,
+     * so its size is known.
+     *
+     * @param panel The panel of a scene.
+     */
+    private void showPanel(JComponent panel) {
+        if(getContentPane() != panel) {
+            setContentPane(panel);
+            validate();
+            repaint();
+        }
     }
 
     /**
@@ -136,10 +300,14 @@ public class GameHandler extends JFrame implements ActionListener {
      * the game with action listeners aimed at obvious actions.
      */
     private void initMainMenu() {
-        isGameStarted = false;
+        menuPanel = new JPanel(null);
+        menuPanel.setBackground(Color.lightGray);
+
+        Icon icon = new ImageIcon(AssetCenter.getImage("Logo.png"));
 
-        setTitle("Main Menu");
-        Icon icon = new ImageIcon("resources/Logo.png");
+        // load the game's images and level while the player is in the menu
+        AssetCenter.preload("Cube.png", "2.png", "3.png");
+        LevelCenter.preload(LevelCenter.getCurrentName());
 
         JLabel logo = new JLabel();
         logo.setBounds(200, 150, icon.getIconWidth(), icon.getIconHeight());
@@ -148,50 +316,57 @@ public class GameHandler extends JFrame implements ActionListener {
         JButton start = new JButton("Start");
         start.setBounds(285, 430, 130, 30);
         start.setFocusable(false);
-        start.addActionListener(e -> {
-            getContentPane().removeAll();
-            repaint();
-            initCreatures();
-        });
+        start.addActionListener(e -> startGame());
 
         JButton close = new JButton("Close");
         close.setBounds(285, 460, 130, 30);
         close.setFocusable(false);
         close.addActionListener(e -> System.exit(0));
 
-        // TODO: Make a statistics service
         JButton statistics = new JButton("Statistics");
         statistics.setBounds(285, 490, 130, 30);
         statistics.setFocusPainted(true);
-        statistics.setEnabled(false);
+        statistics.setFocusable(false);
+        statistics.addActionListener(e -> {
+            showStatistics();
+
+            // pick up sessions of other games sharing the file
+            StatisticsCenter.refresh();
+        });
 
-        getContentPane().add(statistics);
-        getContentPane().add(start);
-        getContentPane().add(close);
-        getContentPane().add(logo);
+        menuPanel.add(statistics);
+        menuPanel.add(start);
+        menuPanel.add(close);
+        menuPanel.add(logo);
     }
 
     /**
      * Pause the game process depending on
-     * the state given as an argument.
+     * the state given as an argument. Only a played
+     * game is paused and only a paused one is resumed.
      *
      * @param state
      *             true - start game,
      *             false - pause.
      */
     private void pause(boolean state) {
-        if(state) {
-            setTitle("SNAKE [Status: RUNNING]");
-            isGameStarted = true;
+        if(scene != (state ? Scene.PAUSED : Scene.RUNNING)) {
+            return;
         }
 
-        else {
-            setTitle("SNAKE [Status: PAUSED]");
-            isGameStarted = false;
+        setScene(state ? Scene.RUNNING : Scene.PAUSED);
+
+        // the world is changed only while the loop's thread is stopped
+        if(loop != null && !state) {
+            loop.stop();
         }
 
-        for(CollisionListener creature : CustomStorage.getCollisionListeners())
-            ((Creature) creature).setMovementState(state);
+        CustomStorage.getPlayers().forEach(player -> player.setMovementState(state));
+        CustomStorage.getPlatforms().forEach(platform -> platform.setMovementState(state));
+
+        if(loop != null && state) {
+            loop.start();
+        }
     }
 
     /**
@@ -239,17 +414,21 @@ public class GameHandler extends JFrame implements ActionListener {
         // back-game processes
 
         JMenuItem menu = new JMenuItem("Main menu");
-        menu.addActionListener(e -> {
-            dispose();
-            CustomStorage.clear();
-
-            new GameHandler(getX(), getY()).initMainMenu();
-        });
+        menu.addActionListener(e -> showMainMenu());
 
         JMenuItem close = new JMenuItem("Close game");
         close.addActionListener(e -> System.exit(0));
 
+        // the metrics overlay, also toggled with F3
+        JCheckBoxMenuItem metrics = new JCheckBoxMenuItem("Show metrics");
+        metrics.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_F3, 0));
+        metrics.addActionListener(e -> {
+            MetricsCenter.setOverlayVisible(metrics.isSelected());
+            repaint();
+        });
+
         file.add(about);
+        file.add(metrics);
         file.add(menu);
         file.addSeparator();
         file.add(close);
@@ -257,53 +436,56 @@ public class GameHandler extends JFrame implements ActionListener {
     }
 
     /**
-     * Create a modal JDialog widget with buttons of restarting, closing
-     * and returning to the main menu. Create a new session if the player
-     * wants to restart the game or return to its main menu. Also display
-     * player's score points.
+     * Show a modal JDialog widget with buttons of restarting, closing
+     * and returning to the main menu. Start a new session in the same
+     * world if the player wants to restart the game or show the main
+     * menu. Also display player's score points. The widget is created
+     * once and reused.
      */
     private void showResultMenu() {
-        setTitle("SNAKE [Status: PAUSED]");
+        setScene(Scene.GAME_OVER);
 
-        JDialog result = new JDialog(this);
-        result.setDefaultCloseOperation(DO_NOTHING_ON_CLOSE); // so user should use buttons
-        result.setBounds(getX() + 200, getY() + 200, 300, 300);
-        result.setResizable(false);
-        result.setTitle("Game Over");
-        result.setLayout(null);
-        result.setModal(true); // the widget should be a modal of the main window
+        if(resultMenu == null) {
+            initResultMenu();
+        }
+
+        resultScore.setText("Your score: " + ScoreCenter.takeScore());
+        resultMenu.setLocation(getX() + 200, getY() + 200);
+        resultMenu.setVisible(true);
+    }
 
-        JLabel score = new JLabel("Your score: " + CollisionCenter.getScore() / 5); // a stupid way ...
-        score.setBounds(100, 60, 200, 30);
-        score.setFont(new Font("sansserif", Font.BOLD, 14));
-        CollisionCenter.cleanScore();
+    /**
+     * Create the result menu.
+     */
+    private void initResultMenu() {
+        resultMenu = new JDialog(this);
+        resultMenu.setDefaultCloseOperation(DO_NOTHING_ON_CLOSE); // so user should use buttons
+        resultMenu.setBounds(getX() + 200, getY() + 200, 300, 300);
+        resultMenu.setResizable(false);
+        resultMenu.setTitle("Game Over");
+        resultMenu.setLayout(null);
+        resultMenu.setModal(true); // the widget should be a modal of the main window
+
+        resultScore = new JLabel();
+        resultScore.setBounds(100, 60, 200, 30);
+        resultScore.setFont(new Font("sansserif", Font.BOLD, 14));
 
         JButton restart = new JButton("Restart");
         restart.setBounds(90, 120, 130, 30);
         restart.setFocusPainted(false);
         restart.addActionListener(e -> {
-            CustomStorage.clear();
-            getContentPane().removeAll();
-            repaint();
-
-            dispose();
+            resultMenu.setVisible(false);
 
             // start a new session
-            new GameHandler(getX(), getY()).initCreatures();
+            startGame();
         });
 
         JButton menu = new JButton("Menu");
         menu.setBounds(90, 150, 130, 30);
         menu.setFocusPainted(false);
         menu.addActionListener(e -> {
-            CustomStorage.clear();
-            getContentPane().removeAll();
-            repaint();
-
-            dispose();
-
-            // start a new session
-            new GameHandler(getX(), getY()).initMainMenu();
+            resultMenu.setVisible(false);
+            showMainMenu();
         });
 
         JButton close = new JButton("Close");
@@ -311,12 +493,10 @@ public class GameHandler extends JFrame implements ActionListener {
         close.setFocusPainted(false);
         close.addActionListener(e -> System.exit(0));
 
-        result.add(restart);
-        result.add(score);
-        result.add(close);
-        result.add(menu);
-
-        result.setVisible(true);
+        resultMenu.add(restart);
+        resultMenu.add(resultScore);
+        resultMenu.add(close);
+        resultMenu.add(menu);
     }
 
     /**
@@ -324,45 +504,36 @@ public class GameHandler extends JFrame implements ActionListener {
      * a mouse. Create and register a MouseAdapter to listen
      * mouse events.
      *
-     * @param comp Any JComponent which registers player's control adapter.
+     * @param comp Any Component which registers player's control adapter.
      */
-    private void addMouseAdapter(JComponent comp) {
+    private void addMouseAdapter(Component comp) {
         MouseAdapter adapter = new MouseAdapter() {
             boolean canMove = false;
 
+            /**
+             * Either the hand cursor is shown.
+             */
+            boolean dragging = false;
+
+            /**
+             * Queue the pointer's position, so the simulation moves the
+             * player's model to the latest one on the next step.
+             *
+             * @param e A mouse event object.
+             */
             @Override
             public void mouseDragged(MouseEvent e) {
-                if(canMove) {
+                // drags are ignored while paused, so a recorded session replays the same way
+                if(canMove && scene == Scene.RUNNING) {
                     // visualize interaction with the player's object
-                    setCursor(new Cursor(Cursor.HAND_CURSOR));
-
-                    // a way to detect movement's vector
-                    if(e.getX() - 25 > player.getX()) {
-                        player.setVector(Creature.Vector.RIGHT);
-                    }
-                    if(e.getX() - 25 < player.getX()) {
-                        player.setVector(Creature.Vector.LEFT);
-                    }
-                    if(e.getY() - 25 < player.getY()) {
-                        player.setVector(Creature.Vector.UP);
-                    }
-                    if(e.getY() - 25 > player.getY()) {
-                        player.setVector(Creature.Vector.DOWN);
+                    if(!dragging) {
+                        setCursor(HAND_CURSOR);
+                        dragging = true;
                     }
 
-                    // set cursor on the middle of the player's model
-                    player.updateCoord(e.getX() - 25, e.getY() - 25);
-
-                    // TODO: Print bonus panel + add more score points
-                    if(player.getX() + player.getWidth() >= 700) {
-                        player.updateCoord(player.getX() - 650, player.getY());
-                    } else if(player.getX() <= 0) {
-                        player.updateCoord(player.getX() + 650, player.getY());
-                    } else if(player.getY() <= 0) {
-                        player.updateCoord(player.getX(), player.getY() + 630);
-                    } else if(player.getY() + player.getHeight() >= 680) {
-                        player.updateCoord(player.getX(), player.getY() - 630);
-                    }
+                    // the pointer is over the scene as of the frame shown
+                    SceneBuffer.Frame frame = scenes.getFront();
+                    simulation.drag(frame.toWorldX(e.getX()), frame.toWorldY(e.getY()));
                 }
             }
 
@@ -374,10 +545,10 @@ public class GameHandler extends JFrame implements ActionListener {
              */
             @Override
             public void mousePressed(MouseEvent e) {
-                if(e.getX() > player.getX() && e.getX() < player.getX() + player.getWidth() &&
-                        e.getY() > player.getY() && e.getY() < player.getY() + player.getHeight()) {
-                    canMove = true;
-                }
+                SceneBuffer.Frame frame = scenes.getFront();
+
+                // the adapter outlives sessions, so the previous press is forgotten
+                canMove = frame.isOnPlayer(frame.toWorldX(e.getX()), frame.toWorldY(e.getY()));
             }
 
             /**
@@ -389,9 +560,15 @@ public class GameHandler extends JFrame implements ActionListener {
              */
             @Override
             public void mouseReleased(MouseEvent e) {
-                setCursor(new Cursor(Cursor.DEFAULT_CURSOR));
-                player.setVector(Creature.Vector.NONE);
-                canMove = false;
+                if(dragging) {
+                    setCursor(DEFAULT_CURSOR);
+                    dragging = false;
+                }
+
+                if(canMove) {
+                    simulation.release();
+                    canMove = false;
+                }
             }
         };
 
@@ -401,16 +578,128 @@ public class GameHandler extends JFrame implements ActionListener {
     }
 
     /**
-     * Check for the game activity. If it wasn't detected, stop the timer
-     * and display the result menu.
-     *
-     * @param ev An action event.
+     * Invoke by the GameLoop on its thread once the world was advanced.
+     * Move the camera after the player and capture the scene it sees.
      */
-    @Override
-    public void actionPerformed(ActionEvent ev) {
-        if(!player.getMovementState() && isGameStarted) {
+    private void captureFrame() {
+        Camera.follow(player, World.getWidth(), World.getHeight());
+        scenes.capture(player);
+    }
+
+    /**
+     * Invoke by the GameLoop on the event dispatch thread after a frame
+     * was captured. Show the latest frame and check for the game activity.
+     * If it wasn't detected, stop the loop and display the result menu.
+     */
+    private void onFrame() {
+        SceneBuffer.Frame frame = scenes.getFront();
+
+        if(activeCanvas != null) {
+            activeCanvas.render();
+        } else {
+            if(views != null)
+                showViews(frame);
+            gamePanel.repaint();
+        }
+
+        if(!frame.isPlayerMoving() && scene == Scene.RUNNING) {
+            loop.stop();
+            saveRecord();
+            saveStatistics();
             showResultMenu();
-            timer.stop();
+        }
+    }
+
+    /**
+     * Show widgets of the creatures seen on the frame and hide the ones
+     * which are no longer seen (the COMPONENTS render mode).
+     *
+     * @param frame The latest frame.
+     */
+    private void showViews(SceneBuffer.Frame frame) {
+        for(int i = 0; i < frame.size(); i++) {
+            CreatureView view = views[frame.getIndex(i)];
+
+            if(!view.isVisible()) {
+                shownViews.add(view);
+            }
+            view.show(frame, i);
+        }
+
+        int kept = 0;
+        for(int i = 0; i < shownViews.size(); i++) {
+            CreatureView view = shownViews.get(i);
+
+            if(view.hideUnlessShown(frame)) {
+                shownViews.set(kept++, view);
+            }
+        }
+
+        while(shownViews.size() > kept) {
+            shownViews.remove(shownViews.size() - 1);
+        }
+    }
+
+    /**
+     * Append the finished session to the statistics and the leaderboard.
+     * Files are written in the background, so the result menu is not
+     * delayed.
+     *
+     * @see com.game.Util.StatisticsCenter
+     */
+    private void saveStatistics() {
+        long ticks = simulation.getTick();
+
+        StatisticsCenter.Session session = new StatisticsCenter.Session(System.currentTimeMillis(),
+                RandomCenter.getSeed(), ticks, ticks * 1000 / GameLoop.TICK_RATE, (int) ScoreCenter.getScore(),
+                CustomStorage.getPlatforms().size());
+
+        StatisticsCenter.record(session);
+        LeaderboardCenter.submit(session);
+    }
+
+    /**
+     * Show the number of sessions played, percentiles of their scores
+     * and the leaderboard. Both are in memory already, so nothing is
+     * read from disk on the event dispatch thread.
+     */
+    private void showStatistics() {
+        StringBuilder text = new StringBuilder();
+        text.append("Sessions played: ").append(StatisticsCenter.getCount()).append("\n");
+        text.append("Score p50 / p90 / p99: ")
+                .append(StatisticsCenter.getPercentile(50)).append(" / ")
+                .append(StatisticsCenter.getPercentile(90)).append(" / ")
+                .append(StatisticsCenter.getPercentile(99)).append("\n\n");
+
+        List<StatisticsCenter.Session> top = LeaderboardCenter.getTop();
+        text.append(top.isEmpty() ? "No sessions yet." : "Best sessions:");
+
+        for(int i = 0; i < top.size(); i++) {
+            StatisticsCenter.Session session = top.get(i);
+            text.append(String.format(Locale.ROOT, "%n%2d. %d points, %.1f s, %d platforms",
+                    i + 1, session.getScore(), session.getDuration() / 1000.0, session.getPlatforms()));
+        }
+
+        JOptionPane.showMessageDialog(getContentPane(), text.toString(), "Statistics", JOptionPane.INFORMATION_MESSAGE);
+    }
+
+    /**
+     * Finish the session's InputLog and save it to the file given by the
+     * system property, if it is set, so the session may be replayed.
+     *
+     * @see com.game.Handler.ReplayGame
+     */
+    private void saveRecord() {
+        InputLog record = simulation.getRecord();
+        record.finish(simulation.getTick());
+
+        String file = System.getProperty(RECORD_PROPERTY);
+        if(file != null) {
+            try {
+                record.save(Paths.get(file));
+            } catch(IOException ex) {
+                System.err.println("Unable to save the replay: " + ex.getMessage());
+            }
         }
     }
 }
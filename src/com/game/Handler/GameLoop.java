@@ -0,0 +1,345 @@
+package com.game.Handler;
+
+import com.game.Util.AllocationAudit;
+import com.game.Util.MetricsCenter;
+
+import javax.swing.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The only clock of the game. Instead of giving each creature its own
+ * timer, a single thread of the loop wakes up and advances the Simulation
+ * with a fixed time step, running as many steps as the elapsed real time
+ * requires. Once the simulation caught up, a frame is captured a single
+ * time, so rendering does not depend on the number of steps made and all
+ * creatures move in the same phase. Frames may be captured less often
+ * than steps are made if the loop was created with a lower frame rate
+ * (e.g. set by the "snake.fps" system property), but never more often,
+ * since a frame without a step would show the same scene again. A loop
+ * may also run the simulation a few times faster than real time, e.g.
+ * to watch a replay.
+ *
+ * The world is advanced off the event dispatch thread, so neither input
+ * handling nor painting waits for the steps. The capture callback is run
+ * on the loop's thread right after the steps, e.g. to copy what should be
+ * drawn into a SceneBuffer, and then the frame callback is invoked on the
+ * event dispatch thread to show it. If the previous frame was not shown
+ * yet, no other one is queued and the frame is counted as dropped.
+ *
+ * While the loop runs, the world belongs to its thread. stop() returns
+ * once the thread has finished its last step, so the world may then be
+ * changed on the event dispatch thread (e.g. paused or reset) until the
+ * loop is started again.
+ *
+ * With -Dsnake.audit=true the memory allocated by the steps is reported
+ * by the AllocationAudit. Durations of steps, frames shown and dropped
+ * are counted by the MetricsCenter.
+ *
+ * @see com.game.Handler.Simulation
+ * @see com.game.View.SceneBuffer
+ * @see com.game.Util.AllocationAudit
+ */
+public final class GameLoop {
+    /**
+     * Simulation steps per second.
+     */
+    public static final int TICK_RATE = 50;
+
+    /**
+     * The duration of a single simulation step (nanoseconds).
+     */
+    private static final long TICK_PERIOD = 1_000_000_000L / TICK_RATE;
+
+    /**
+     * The maximum number of steps made per wake up. If the loop falls
+     * behind further (e.g. a modal dialog was opened), the rest of the
+     * backlog is dropped instead of fast-forwarding the world.
+     */
+    private static final int MAX_TICKS_PER_FRAME = 5;
+
+    /**
+     * The maximum time the loop sleeps for (nanoseconds). It is shorter
+     * than a step, so the steps are not shifted by the sleep's granularity.
+     */
+    private static final long POLL_DELAY = 5_000_000L;
+
+    /**
+     * The delay before the first step after the loop is started
+     * (nanoseconds).
+     */
+    private static final long INITIAL_DELAY = 100_000_000L;
+
+    /**
+     * The system property used to set the target frame rate.
+     */
+    public static final String FPS_PROPERTY = "snake.fps";
+
+    /**
+     * The simulation advanced by this loop.
+     */
+    private final Simulation simulation;
+
+    /**
+     * The capture callback run on the loop's thread, e.g. capturing the
+     * scene.
+     */
+    private final Runnable capture;
+
+    /**
+     * The frame callback run on the event dispatch thread, e.g.
+     * repainting the scene.
+     */
+    private final Runnable frame;
+
+    /**
+     * Shows a captured frame on the event dispatch thread.
+     */
+    private final Runnable showFrame = this::showFrame;
+
+    /**
+     * Either a frame is queued to the event dispatch thread and not
+     * shown yet.
+     */
+    private final AtomicBoolean framePending = new AtomicBoolean();
+
+    /**
+     * The loop's thread (null while the loop is stopped).
+     */
+    private Thread thread;
+
+    /**
+     * Either the loop's thread should keep running.
+     */
+    private volatile boolean running = false;
+
+    /**
+     * The duration of a single step for this loop's speed (nanoseconds).
+     */
+    private final long tickPeriod;
+
+    /**
+     * The maximum number of steps made per wake up for this loop's speed.
+     */
+    private final int maxTicks;
+
+    /**
+     * The minimal duration between two frames (nanoseconds).
+     */
+    private long framePeriod;
+
+    /**
+     * The time the next frame is due (nanoseconds). Frames are scheduled
+     * with a fixed period rather than after the previous one, so the
+     * timer's granularity does not stretch the frame times.
+     */
+    private long nextFrame;
+
+    /**
+     * The number of steps made since the previous frame.
+     */
+    private int pendingTicks;
+
+    /**
+     * The time of the previous wake up (nanoseconds).
+     */
+    private long previousTime;
+
+    /**
+     * The real time which has not been simulated yet (nanoseconds).
+     */
+    private long accumulator;
+
+    /**
+     * Create a new loop, which is not started yet.
+     *
+     * @param simulation The simulation to advance.
+     * @param capture    A callback run on the loop's thread once the
+     *                   simulation was advanced.
+     * @param frame      A callback run on the event dispatch thread after
+     *                   the capture one.
+     * @param frameRate  The target frame rate (frames per second).
+     */
+    public GameLoop(Simulation simulation, Runnable capture, Runnable frame, int frameRate) {
+        this(simulation, capture, frame, frameRate, 1);
+    }
+
+    /**
+     * Create a new loop, which is not started yet, running the simulation
+     * the given times faster than real time.
+     *
+     * @param simulation The simulation to advance.
+     * @param capture    A callback run on the loop's thread once the
+     *                   simulation was advanced.
+     * @param frame      A callback run on the event dispatch thread after
+     *                   the capture one.
+     * @param frameRate  The target frame rate (frames per second).
+     * @param speed      The speed multiplier (1 - real time).
+     */
+    public GameLoop(Simulation simulation, Runnable capture, Runnable frame, int frameRate, int speed) {
+        this.simulation = simulation;
+        this.capture = capture;
+        this.frame = frame;
+        this.tickPeriod = TICK_PERIOD / Math.max(1, speed);
+        this.maxTicks = MAX_TICKS_PER_FRAME * Math.max(1, speed);
+        setFrameRate(frameRate);
+    }
+
+    /**
+     * Change the target frame rate, e.g. once the screen showing the frames
+     * is known. Should be invoked while the loop is stopped.
+     *
+     * @param frameRate The target frame rate (frames per second).
+     */
+    public void setFrameRate(int frameRate) {
+        framePeriod = 1_000_000_000L / Math.max(1, Math.min(frameRate, TICK_RATE));
+    }
+
+    /**
+     * Start (or resume) advancing the simulation on a new thread of the
+     * loop. Should be invoked on the event dispatch thread.
+     */
+    public void start() {
+        if(thread == null) {
+            previousTime = System.nanoTime() + INITIAL_DELAY;
+            nextFrame = previousTime;
+            accumulator = 0;
+            pendingTicks = 0;
+
+            running = true;
+            thread = new Thread(this::run, "game-loop");
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Stop advancing the simulation and wait until the loop's thread has
+     * finished. Should be invoked on the event dispatch thread.
+     */
+    public void stop() {
+        if(thread == null) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(thread);
+
+        boolean interrupted = false;
+        while(thread.isAlive()) {
+            try {
+                thread.join();
+            } catch(InterruptedException ex) {
+                interrupted = true;
+            }
+        }
+        thread = null;
+
+        if(interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return true if the loop is running.
+     */
+    public boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * @return The target frame rate set by the system property or the
+     *         tick rate if it is not set or invalid.
+     */
+    public static int getTargetFrameRate() {
+        try {
+            return Integer.parseInt(System.getProperty(FPS_PROPERTY, String.valueOf(TICK_RATE)).trim());
+        } catch(NumberFormatException ex) {
+            return TICK_RATE;
+        }
+    }
+
+    /**
+     * The body of the loop's thread: wake up until the loop is stopped,
+     * sleeping until the next step is due.
+     */
+    private void run() {
+        LockSupport.parkNanos(INITIAL_DELAY);
+
+        while(running) {
+            wakeUp();
+
+            long delay = Math.min(tickPeriod - accumulator, POLL_DELAY);
+            if(running && delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+        }
+    }
+
+    /**
+     * Run the steps which are due since the previous wake up and
+     * capture a frame if at least one step was made since the previous
+     * frame and the frame period has passed.
+     */
+    private void wakeUp() {
+        long now = System.nanoTime();
+        accumulator += Math.max(0, now - previousTime);
+        previousTime = now;
+
+        long allocated = AllocationAudit.isEnabled() ? AllocationAudit.threadAllocatedBytes() : 0;
+
+        int ticks = 0;
+        while(accumulator >= tickPeriod && ticks < maxTicks && running) {
+            long start = System.nanoTime();
+            simulation.step();
+            MetricsCenter.tickTime(System.nanoTime() - start);
+
+            accumulator -= tickPeriod;
+            ticks++;
+        }
+
+        if(AllocationAudit.isEnabled() && ticks > 0) {
+            AllocationAudit.count(AllocationAudit.threadAllocatedBytes() - allocated, ticks);
+        }
+
+        if(!running) {
+            return; // stopped in the middle, the world is not shown anymore
+        }
+
+        if(accumulator >= tickPeriod) {
+            MetricsCenter.ticksDropped(accumulator / tickPeriod);
+            accumulator %= tickPeriod;
+        }
+
+        pendingTicks += ticks;
+
+        if(pendingTicks > 0 && now >= nextFrame) {
+            nextFrame += framePeriod;
+            if(nextFrame <= now) {
+                MetricsCenter.framesDropped((now - nextFrame) / framePeriod + 1);
+                nextFrame = now + framePeriod; // fell behind, do not burst
+            }
+
+            pendingTicks = 0;
+            capture.run();
+
+            if(framePending.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(showFrame);
+            } else {
+                MetricsCenter.framesDropped(1); // the previous one is still waiting
+            }
+        }
+
+        MetricsCenter.update(now);
+    }
+
+    /**
+     * Show the latest captured frame (the event dispatch thread only).
+     */
+    private void showFrame() {
+        framePending.set(false);
+
+        frame.run();
+        MetricsCenter.frameShown();
+    }
+}
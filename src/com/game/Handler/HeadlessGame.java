@@ -0,0 +1,110 @@
+package com.game.Handler;
+
+import com.game.Model.Player;
+import com.game.Util.AllocationAudit;
+import com.game.Util.RandomCenter;
+import com.game.Util.ScoreCenter;
+import com.game.View.CustomStorage;
+
+/**
+ * Runs the game world without a screen and without waiting for real
+ * time: the Simulation is stepped as fast as possible until the given
+ * number of steps is made (or, if it is asked, until the player is
+ * stopped by a collision). Used for load testing and evaluating the
+ * game on machines with no display. A run with the same seed is
+ * always the same.
+ *
+ * With --audit the memory allocated per step is measured once the JVM has
+ * warmed up.
+ *
+ * Usage: java -cp snake.jar com.game.Handler.HeadlessGame [ticks] [--until-game-over] [--seed=N] [--audit]
+ *
+ * @see com.game.Handler.Simulation
+ */
+public final class HeadlessGame {
+    /**
+     * The number of steps made if it is not given.
+     */
+    private static final long DEFAULT_TICKS = 1_000_000L;
+
+    /**
+     * The maximum number of steps made before allocations are measured.
+     */
+    private static final long WARM_UP_TICKS = 100_000L;
+
+    private HeadlessGame() { }
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+
+        long ticks = DEFAULT_TICKS;
+        boolean untilGameOver = false;
+        boolean audit = false;
+        long seed = RandomCenter.getSeed();
+
+        for(String arg : args) {
+            if(arg.equals("--until-game-over")) {
+                untilGameOver = true;
+            } else if(arg.equals("--audit")) {
+                audit = true;
+            } else if(arg.startsWith("--seed=")) {
+                seed = Long.parseLong(arg.substring("--seed=".length()));
+            } else {
+                ticks = Long.parseLong(arg);
+            }
+        }
+
+        CustomStorage.clear();
+        ScoreCenter.cleanScore();
+        RandomCenter.reset(seed);
+
+        Player player = World.createDefault();
+        Simulation simulation = new Simulation();
+
+        // let the JIT compile the step before allocations are measured
+        long warmUp = audit ? Math.min(ticks / 10, WARM_UP_TICKS) : 0;
+        long made = run(simulation, player, warmUp, untilGameOver);
+        long allocated = AllocationAudit.threadAllocatedBytes();
+
+        long start = System.nanoTime();
+        long audited = run(simulation, player, ticks - made, untilGameOver);
+        long elapsed = Math.max(System.nanoTime() - start, 1);
+
+        allocated = AllocationAudit.threadAllocatedBytes() - allocated;
+        made += audited;
+
+        System.out.printf("Seed: %d%n", seed);
+        System.out.printf("Steps: %d (%s)%n", made, player.getMovementState() ? "alive" : "game over");
+        System.out.printf("Score: %d%n", ScoreCenter.getScore());
+        System.out.printf("Time: %.3f s, %.0f steps/s%n", elapsed / 1e9, audited * 1e9 / elapsed);
+
+        if(audit) {
+            if(AllocationAudit.isSupported()) {
+                System.out.printf("Allocated: %.1f bytes/tick (%d ticks)%n",
+                        (double) allocated / Math.max(audited, 1), audited);
+            } else {
+                System.out.println("Allocated: not supported by the JVM");
+            }
+        }
+    }
+
+    /**
+     * Step the simulation until the number of steps is made.
+     *
+     * @param simulation    The simulation to advance.
+     * @param player        The world's player.
+     * @param ticks         The maximum number of steps.
+     * @param untilGameOver Stop once the player can no longer move.
+     * @return The number of steps made.
+     */
+    public static long run(Simulation simulation, Player player, long ticks, boolean untilGameOver) {
+        long made = 0;
+
+        while(made < ticks && (!untilGameOver || player.getMovementState())) {
+            simulation.step();
+            made++;
+        }
+
+        return made;
+    }
+}
@@ -0,0 +1,268 @@
+package com.game.Handler;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * A compact log of a game session: the level and the seed of the world and
+ * the player's inputs stamped with the simulation step they were applied
+ * before. Since the world is built from the level and the seed and inputs
+ * are the only thing coming from outside of the simulation, a session is
+ * reproduced exactly by building the world of the same level with the same
+ * seed and applying the same inputs on the same steps.
+ *
+ * The log is kept in parallel arrays while recording and saved in the
+ * binary format:
+ *
+ *     int   magic ("SNKR"), byte version,
+ *     long  seed, UTF level (empty if unknown), long length (steps), int count,
+ *     count x { varint step delta, byte type, [short x, short y] }
+ *
+ * where coordinates follow DRAG events only.
+ *
+ * @see com.game.Handler.Simulation
+ * @see com.game.Handler.ReplayGame
+ * @see com.game.Util.RandomCenter
+ */
+public final class InputLog {
+    /**
+     * The player dragged the model to the pointer's position.
+     */
+    public static final byte DRAG    = 0;
+
+    /**
+     * The player released the model.
+     */
+    public static final byte RELEASE = 1;
+
+    /**
+     * The first bytes of a log's file.
+     */
+    private static final int MAGIC = 0x534E4B52;
+
+    /**
+     * The version of the format.
+     */
+    private static final byte VERSION = 2;
+
+    /**
+     * The seed of the session's world.
+     */
+    private final long seed;
+
+    /**
+     * The name of the session's level (null if it is unknown).
+     *
+     * @see com.game.Util.LevelCenter#getLevel(String)
+     */
+    private final String level;
+
+    /**
+     * The number of steps the session took, set once it was finished.
+     */
+    private long length = -1;
+
+    // events
+
+    private long[]  ticks = new long[64];
+    private byte[]  types = new byte[64];
+    private short[] xs    = new short[64];
+    private short[] ys    = new short[64];
+
+    /**
+     * The number of events.
+     */
+    private int size = 0;
+
+    /**
+     * Create an empty log of a session.
+     *
+     * @param seed  The seed of the session's world.
+     * @param level The name of the session's level (null if it is unknown).
+     */
+    public InputLog(long seed, String level) {
+        this.seed = seed;
+        this.level = level;
+    }
+
+    /**
+     * Append an event. Events must be appended in the order of steps.
+     *
+     * @param tick The step the event is applied before.
+     * @param type The event's type (DRAG or RELEASE).
+     * @param x    The pointer's X-coordinate (DRAG only).
+     * @param y    The pointer's Y-coordinate (DRAG only).
+     */
+    public void record(long tick, byte type, int x, int y) {
+        if(size == ticks.length) {
+            ticks = Arrays.copyOf(ticks, size * 2);
+            types = Arrays.copyOf(types, size * 2);
+            xs = Arrays.copyOf(xs, size * 2);
+            ys = Arrays.copyOf(ys, size * 2);
+        }
+
+        ticks[size] = tick;
+        types[size] = type;
+        xs[size] = (short) x;
+        ys[size] = (short) y;
+        size++;
+    }
+
+    /**
+     * Mark the session as finished.
+     *
+     * @param length The number of steps the session took.
+     */
+    public void finish(long length) {
+        this.length = length;
+    }
+
+    /**
+     * @return The seed of the session's world.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * @return The name of the session's level, null if it is unknown.
+     */
+    public String getLevel() {
+        return level;
+    }
+
+    /**
+     * @return The number of steps the session took (-1 if it is not finished).
+     */
+    public long getLength() {
+        return length;
+    }
+
+    /**
+     * @return The number of events.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long getTick(int i) {
+        return ticks[i];
+    }
+
+    public byte getType(int i) {
+        return types[i];
+    }
+
+    public int getX(int i) {
+        return xs[i];
+    }
+
+    public int getY(int i) {
+        return ys[i];
+    }
+
+    /**
+     * Write the log to the file in the binary format.
+     *
+     * @param file A file to write, replaced if it exists.
+     * @throws IOException If the file could not be written.
+     */
+    public void save(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if(parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try(DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(seed);
+            out.writeUTF(level != null ? level : "");
+            out.writeLong(length);
+            out.writeInt(size);
+
+            long previous = 0;
+            for(int i = 0; i < size; i++) {
+                writeVarLong(out, ticks[i] - previous);
+                previous = ticks[i];
+
+                out.writeByte(types[i]);
+                if(types[i] == DRAG) {
+                    out.writeShort(xs[i]);
+                    out.writeShort(ys[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Read a log written by save().
+     *
+     * @param file A log's file.
+     * @return The log.
+     * @throws IOException If the file could not be read or is not a log.
+     */
+    public static InputLog load(Path file) throws IOException {
+        try(DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if(in.readInt() != MAGIC) {
+                throw new IOException("Not a replay file: " + file);
+            }
+            if(in.readByte() != VERSION) {
+                throw new IOException("Unsupported version of the replay file: " + file);
+            }
+
+            long seed = in.readLong();
+            String level = in.readUTF();
+
+            InputLog log = new InputLog(seed, level.isEmpty() ? null : level);
+            log.length = in.readLong();
+
+            int count = in.readInt();
+            long tick = 0;
+            for(int i = 0; i < count; i++) {
+                tick += readVarLong(in);
+
+                byte type = in.readByte();
+                if(type == DRAG) {
+                    log.record(tick, type, in.readShort(), in.readShort());
+                } else {
+                    log.record(tick, type, 0, 0);
+                }
+            }
+
+            return log;
+        }
+    }
+
+    /**
+     * Write a non-negative number using 7 bits per byte, so small step
+     * deltas take a single byte.
+     */
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Read a number written by writeVarLong().
+     */
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for(int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed replay file");
+    }
+}
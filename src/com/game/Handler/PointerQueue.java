@@ -0,0 +1,104 @@
+package com.game.Handler;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A lock-free ring buffer of raw pointer events passed from the thread
+ * listening to the mouse (the producer) to the simulation (the consumer).
+ * Listeners only put an event into the buffer, which takes a constant time
+ * and allocates nothing, and the simulation takes all queued events once
+ * per step, so a mouse reporting many positions per step does not cause
+ * any work but the latest position.
+ *
+ * There must be a single producer and a single consumer thread. If the
+ * buffer is full (the simulation is not stepped for a long time), new
+ * events are dropped.
+ *
+ * @see com.game.Handler.Simulation
+ */
+public final class PointerQueue {
+    /**
+     * The number of events the buffer keeps (a power of two).
+     */
+    private static final int CAPACITY = 1024;
+
+    private static final int MASK = CAPACITY - 1;
+
+    // events
+
+    private final byte[] types = new byte[CAPACITY];
+    private final int[]  xs    = new int[CAPACITY];
+    private final int[]  ys    = new int[CAPACITY];
+
+    /**
+     * The number of events taken by the consumer.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * The number of events put by the producer.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    // the event taken by the last poll()
+
+    private byte type;
+    private int  x;
+    private int  y;
+
+    /**
+     * Put an event (producer only).
+     *
+     * @param type The event's type.
+     * @param x    The pointer's X-coordinate.
+     * @param y    The pointer's Y-coordinate.
+     * @return false if the buffer is full and the event was dropped.
+     */
+    public boolean offer(byte type, int x, int y) {
+        long t = tail.get();
+        if(t - head.get() == CAPACITY) {
+            return false;
+        }
+
+        int slot = (int) t & MASK;
+        types[slot] = type;
+        xs[slot] = x;
+        ys[slot] = y;
+
+        tail.lazySet(t + 1); // publishes the slot
+        return true;
+    }
+
+    /**
+     * Take the oldest event (consumer only), which is then given by
+     * getType(), getX() and getY().
+     *
+     * @return false if there are no events.
+     */
+    public boolean poll() {
+        long h = head.get();
+        if(h == tail.get()) {
+            return false;
+        }
+
+        int slot = (int) h & MASK;
+        type = types[slot];
+        x = xs[slot];
+        y = ys[slot];
+
+        head.lazySet(h + 1); // frees the slot
+        return true;
+    }
+
+    public byte getType() {
+        return type;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+}
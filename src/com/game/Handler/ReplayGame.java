@@ -0,0 +1,174 @@
+package com.game.Handler;
+
+import com.game.Model.Player;
+import com.game.Util.RandomCenter;
+import com.game.Util.ScoreCenter;
+import com.game.View.Camera;
+import com.game.View.CustomStorage;
+import com.game.View.GameCanvas;
+import com.game.View.SceneBuffer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Replays a session recorded into an InputLog: the world of the session's
+ * level is built with the session's seed and the recorded inputs are
+ * applied on the steps they were made on, so the session is reproduced
+ * exactly. A log whose level is unknown or can't be loaded is rejected. The replay is
+ * run without a screen as fast as possible (e.g. to reproduce a bug or
+ * to measure the performance on a real session), or shown in a window
+ * at 1x, 4x or 16x speed.
+ *
+ * Usage: java -cp snake.jar com.game.Handler.ReplayGame file [--speed=max|1|4|16]
+ *
+ * @see com.game.Handler.InputLog
+ * @see com.game.Handler.Simulation
+ */
+public final class ReplayGame {
+    /**
+     * The size of the field shown in the window.
+     */
+    private static final int WIDTH  = 700;
+    private static final int HEIGHT = 680;
+
+    private ReplayGame() { }
+
+    public static void main(String[] args) throws IOException {
+        if(args.length == 0) {
+            System.out.println("Usage: ReplayGame file [--speed=max|1|4|16]");
+            return;
+        }
+
+        String speed = "max";
+        for(int i = 1; i < args.length; i++) {
+            if(args[i].startsWith("--speed=")) {
+                speed = args[i].substring("--speed=".length());
+            }
+        }
+
+        if(speed.equals("max")) {
+            System.setProperty("java.awt.headless", "true");
+        }
+
+        InputLog log = InputLog.load(Paths.get(args[0]));
+
+        Player player;
+        try {
+            player = prepare(log);
+        } catch(UncheckedIOException ex) {
+            throw new IOException("Can't replay " + args[0] + ": " + ex.getCause().getMessage(), ex);
+        }
+
+        if(speed.equals("max")) {
+            Simulation simulation = new Simulation(player, log);
+
+            long start = System.nanoTime();
+            long made = run(simulation, player, log);
+            long elapsed = Math.max(System.nanoTime() - start, 1);
+
+            System.out.printf("Level: %s%n", log.getLevel());
+            System.out.printf("Seed: %d%n", log.getSeed());
+            System.out.printf("Steps: %d of %d (%s)%n", made, log.getLength(),
+                    player.getMovementState() ? "alive" : "game over");
+            System.out.printf("Score: %d%n", ScoreCenter.getScore());
+            System.out.printf("Time: %.3f s, %.0f steps/s%n", elapsed / 1e9, made * 1e9 / elapsed);
+        } else {
+            int multiplier = Integer.parseInt(speed);
+            SwingUtilities.invokeLater(() -> show(log, player, multiplier));
+        }
+    }
+
+    /**
+     * Build the session's world of its level from its seed.
+     *
+     * @param log The log of the session.
+     * @return The world's player.
+     * @throws java.io.UncheckedIOException if the session's level is
+     *         unknown or can't be loaded.
+     */
+    public static Player prepare(InputLog log) {
+        if(log.getLevel() == null) {
+            throw new UncheckedIOException(new IOException("The session's level is unknown"));
+        }
+
+        CustomStorage.clear();
+        ScoreCenter.cleanScore();
+        RandomCenter.reset(log.getSeed());
+
+        return World.create(log.getLevel());
+    }
+
+    /**
+     * Step the replaying simulation until the session's end (or until
+     * the player is stopped if the session's length is unknown).
+     *
+     * @param simulation The simulation replaying a session.
+     * @param player     The world's player.
+     * @param log        The log of the session.
+     * @return The number of steps made.
+     */
+    public static long run(Simulation simulation, Player player, InputLog log) {
+        long made = 0;
+
+        while(log.getLength() >= 0 ? !simulation.isReplayFinished() : player.getMovementState()) {
+            simulation.step();
+            made++;
+        }
+
+        return made;
+    }
+
+    /**
+     * Show the replayed session in a window.
+     *
+     * @param log    The log of the session.
+     * @param player The player of the session's world built by prepare().
+     * @param speed  The speed multiplier.
+     */
+    private static void show(InputLog log, Player player, int speed) {
+        Simulation simulation = new Simulation(player, log);
+
+        JFrame window = new JFrame("SNAKE [Replay x" + speed + "]");
+        window.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
+        window.setResizable(false);
+
+        GameCanvas canvas = new GameCanvas(Color.lightGray);
+        canvas.setPreferredSize(new Dimension(WIDTH, HEIGHT));
+        window.setContentPane(canvas);
+        window.pack();
+
+        // the camera shows as much of the world as the canvas does
+        Camera.setViewport(canvas.getWidth(), canvas.getHeight());
+
+        SceneBuffer scenes = canvas.getScenes();
+        Runnable capture = () -> {
+            Camera.follow(player, World.getWidth(), World.getHeight());
+            scenes.capture(player);
+        };
+        capture.run(); // the first frame, the loop is not started yet
+
+        window.setVisible(true);
+
+        // set on the loop's thread, read on the event dispatch thread
+        AtomicBoolean finished = new AtomicBoolean();
+
+        GameLoop[] loop = new GameLoop[1];
+        loop[0] = new GameLoop(simulation, () -> {
+            capture.run();
+            finished.set(simulation.isReplayFinished() || !player.getMovementState());
+        }, () -> {
+            canvas.repaint();
+
+            if(finished.get() && loop[0].isRunning()) {
+                loop[0].stop();
+                window.setTitle("SNAKE [Replay finished, score: " + ScoreCenter.getScore() + "]");
+            }
+        }, GameLoop.getTargetFrameRate(), speed);
+        loop[0].start();
+    }
+}
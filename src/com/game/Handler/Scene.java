@@ -0,0 +1,46 @@
+package com.game.Handler;
+
+/**
+ * Scenes of the game's window. The GameHandler switches between them
+ * reusing the same window and, once it is built, the same world, which
+ * is reset in place when a new game is started.
+ *
+ * @see com.game.Handler.GameHandler
+ */
+public enum Scene {
+    /**
+     * The main menu is shown.
+     */
+    MENU("Main Menu"),
+
+    /**
+     * The game is played.
+     */
+    RUNNING("SNAKE [Status: RUNNING]"),
+
+    /**
+     * The game is paused, e.g. while a menu is open.
+     */
+    PAUSED("SNAKE [Status: PAUSED]"),
+
+    /**
+     * The game is over and the result menu is shown.
+     */
+    GAME_OVER("SNAKE [Status: PAUSED]");
+
+    /**
+     * The window's title in the scene.
+     */
+    private final String title;
+
+    Scene(String title) {
+        this.title = title;
+    }
+
+    /**
+     * @return The window's title in the scene.
+     */
+    public String getTitle() {
+        return title;
+    }
+}
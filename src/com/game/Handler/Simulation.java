@@ -0,0 +1,365 @@
+package com.game.Handler;
+
+import com.game.Model.Creature;
+import com.game.Model.Platform;
+import com.game.Model.Player;
+import com.game.Util.CollisionCenter;
+import com.game.Util.MetricsCenter;
+import com.game.Util.RandomCenter;
+import com.game.Util.ScoreCenter;
+import com.game.View.CustomStorage;
+import com.game.View.EntityList;
+
+import java.awt.*;
+
+/**
+ * The game world's update logic. A single step consists of two
+ * phases: the movement one advances every registered creature once
+ * (platforms go first), and then the collision one asks
+ * the CollisionCenter to check the new positions, sending a
+ * CollisionEvent to the colliding creatures, otherwise the step is counted
+ * as survived by the ScoreCenter. So collisions are checked and points
+ * are scored exactly once per step, no matter how often the scene is
+ * repainted.
+ * The simulation knows nothing about time, so it is the GameLoop
+ * which decides how often a step should be made.
+ *
+ * The player's inputs are applied through the simulation too: they are
+ * queued in a PointerQueue when they come and applied at the start of
+ * the next step, coalescing drags to the latest position. Applied inputs
+ * are stamped with the step's number and recorded in an InputLog, so a
+ * session may be replayed from its log: the replayed inputs are applied
+ * right before the steps they were recorded on.
+ *
+ * @see com.game.Handler.GameLoop
+ * @see com.game.Handler.InputLog
+ * @see com.game.Handler.PointerQueue
+ * @see com.game.Model.Creature
+ * @see com.game.Util.CollisionCenter
+ * @see com.game.Util.ScoreCenter
+ */
+public final class Simulation {
+    /**
+     * The distance from the field's edge the player lands at after it is
+     * moved to the opposite edge.
+     */
+    private static final int WRAP_MARGIN = 50;
+
+    /**
+     * The distance from the players platforms are moved on each step at
+     * (pixels), farther ones are moved less often. It covers the whole
+     * window wherever the player is on it.
+     *
+     * @see com.game.Model.Platform#moveAll(long, Rectangle, Rectangle)
+     */
+    public static final int NEAR_DISTANCE = 1024;
+
+    /**
+     * The distance from the players platforms are moved at (pixels),
+     * farther ones sleep.
+     */
+    public static final int AWAKE_DISTANCE = 2048;
+
+    /**
+     * Regions around the players, updated on each step.
+     */
+    private final Rectangle near  = new Rectangle();
+    private final Rectangle awake = new Rectangle();
+
+    /**
+     * The number of steps made since the simulation was created.
+     */
+    private long tick = 0;
+
+    /**
+     * The player controlled by inputs (null if there are no inputs).
+     */
+    private final Player player;
+
+    /**
+     * The log recording inputs of a live session (null while replaying).
+     */
+    private InputLog record;
+
+    /**
+     * Live inputs waiting for the next step (null while replaying).
+     */
+    private final PointerQueue input;
+
+    /**
+     * The log replayed instead of live inputs (null for a live session).
+     */
+    private final InputLog replay;
+
+    /**
+     * The number of replayed events applied.
+     */
+    private int replayed = 0;
+
+    /**
+     * Create a simulation of the world without inputs.
+     */
+    public Simulation() {
+        this(null, null, null);
+    }
+
+    /**
+     * Create a simulation of a live session, recording the player's inputs
+     * together with the current seed and the world's level.
+     *
+     * @see com.game.Util.RandomCenter
+     *
+     * @param player The player controlled by inputs.
+     */
+    public Simulation(Player player) {
+        this(player, new InputLog(RandomCenter.getSeed(), World.getLevelName()), null);
+    }
+
+    /**
+     * Create a simulation replaying the recorded session. The world should
+     * be built with the log's seed.
+     *
+     * @param player The player controlled by the replayed inputs.
+     * @param replay The log of the session.
+     */
+    public Simulation(Player player, InputLog replay) {
+        this(player, null, replay);
+    }
+
+    private Simulation(Player player, InputLog record, InputLog replay) {
+        this.player = player;
+        this.record = record;
+        this.replay = replay;
+        this.input = record != null ? new PointerQueue() : null;
+    }
+
+    /**
+     * Start the simulation of a new session in the same world, which
+     * should be reset first: the step counter is reset, inputs left from
+     * the previous session are dropped and a new log records inputs with
+     * the current seed and level (or the replay starts from its beginning).
+     *
+     * @see com.game.Handler.World#reset()
+     */
+    public void restart() {
+        tick = 0;
+        replayed = 0;
+
+        if(record != null) {
+            while(input.poll()) {
+                // the previous session's inputs
+            }
+            record = new InputLog(RandomCenter.getSeed(), World.getLevelName());
+        }
+    }
+
+    /**
+     * Advance every creature by a single step, then check for collisions.
+     * The inputs queued since the previous step (or, while replaying, the
+     * ones recorded on this step) are applied first.
+     */
+    public void step() {
+        if(input != null) {
+            applyInput();
+        } else if(replay != null) {
+            while(replayed < replay.size() && replay.getTick(replayed) <= tick) {
+                if(replay.getType(replayed) == InputLog.DRAG) {
+                    applyDrag(replay.getX(replayed), replay.getY(replayed));
+                } else {
+                    applyRelease();
+                }
+                replayed++;
+            }
+        }
+
+        move();
+        collide();
+
+        tick++;
+    }
+
+    /**
+     * The movement phase. Platforms are moved in a single loop over
+     * the EntityStore's arrays, the ones farther than NEAR_DISTANCE
+     * from all players less often, the ones farther than AWAKE_DISTANCE
+     * not at all.
+     *
+     * @see com.game.Model.Platform#moveAll(long, Rectangle, Rectangle)
+     */
+    private void move() {
+        EntityList<Player> players = CustomStorage.getPlayers();
+
+        if(players.size() == 0) {
+            Platform.moveAll();
+        } else {
+            int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+            int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+
+            for(int i = 0; i < players.size(); i++) {
+                Player player = players.get(i);
+                minX = Math.min(minX, player.getX());
+                minY = Math.min(minY, player.getY());
+                maxX = Math.max(maxX, player.getX() + player.getWidth());
+                maxY = Math.max(maxY, player.getY() + player.getHeight());
+            }
+
+            near.setBounds(minX, minY, maxX - minX, maxY - minY);
+            near.grow(NEAR_DISTANCE, NEAR_DISTANCE);
+            awake.setBounds(minX, minY, maxX - minX, maxY - minY);
+            awake.grow(AWAKE_DISTANCE, AWAKE_DISTANCE);
+
+            Platform.moveAll(tick, near, awake);
+        }
+
+        for(int i = 0; i < players.size(); i++) {
+            players.get(i).tick();
+        }
+    }
+
+    /**
+     * The collision phase.
+     */
+    private void collide() {
+        long start = System.nanoTime();
+        int collisions = CollisionCenter.dispatchCollisions(tick);
+        MetricsCenter.collisionTime(System.nanoTime() - start);
+
+        if(collisions == 0) {
+            ScoreCenter.tickSurvived();
+        }
+    }
+
+    /**
+     * The player dragged the model to the pointer's position. The input is
+     * queued and applied on the next step. May be called from the thread
+     * listening to the mouse. A pointer beyond the field is taken at its
+     * edge, which moves the model over the edge all the same and keeps the
+     * position within the InputLog's range.
+     *
+     * @param x The pointer's X-coordinate on the field.
+     * @param y The pointer's Y-coordinate on the field.
+     */
+    public void drag(int x, int y) {
+        if(input != null) {
+            input.offer(InputLog.DRAG, Math.max(0, Math.min(x, World.getWidth() - 1)),
+                    Math.max(0, Math.min(y, World.getHeight() - 1)));
+        }
+    }
+
+    /**
+     * The player released the model, so it does not move anymore. The input
+     * is queued and applied on the next step.
+     */
+    public void release() {
+        if(input != null) {
+            input.offer(InputLog.RELEASE, 0, 0);
+        }
+    }
+
+    /**
+     * Apply the queued inputs in order, recording them. Successive drags
+     * are coalesced, so only the latest position before a release (or the
+     * step) is applied.
+     */
+    private void applyInput() {
+        boolean dragged = false;
+        int x = 0, y = 0;
+
+        while(input.poll()) {
+            if(input.getType() == InputLog.DRAG) {
+                dragged = true;
+                x = input.getX();
+                y = input.getY();
+            } else {
+                if(dragged) {
+                    record.record(tick, InputLog.DRAG, x, y);
+                    applyDrag(x, y);
+                    dragged = false;
+                }
+
+                record.record(tick, InputLog.RELEASE, 0, 0);
+                applyRelease();
+            }
+        }
+
+        if(dragged) {
+            record.record(tick, InputLog.DRAG, x, y);
+            applyDrag(x, y);
+        }
+    }
+
+    /**
+     * Detect the movement's vector and move the model's center to the
+     * pointer. If the model reaches an edge of the field, it is moved to
+     * the opposite one and a bonus is scored.
+     *
+     * @param x The pointer's X-coordinate on the field.
+     * @param y The pointer's Y-coordinate on the field.
+     */
+    private void applyDrag(int x, int y) {
+        // a way to detect movement's vector
+        if(x - 25 > player.getX()) {
+            player.setVector(Creature.Vector.RIGHT);
+        }
+        if(x - 25 < player.getX()) {
+            player.setVector(Creature.Vector.LEFT);
+        }
+        if(y - 25 < player.getY()) {
+            player.setVector(Creature.Vector.UP);
+        }
+        if(y - 25 > player.getY()) {
+            player.setVector(Creature.Vector.DOWN);
+        }
+
+        // set cursor on the middle of the player's model
+        player.updateCoord(x - 25, y - 25);
+
+        // crossing an edge of the field moves the model to the opposite one
+        int width = World.getWidth(), height = World.getHeight();
+
+        boolean wrapped = true;
+        if(player.getX() + player.getWidth() >= width) {
+            player.updateCoord(player.getX() - (width - WRAP_MARGIN), player.getY());
+        } else if(player.getX() <= 0) {
+            player.updateCoord(player.getX() + (width - WRAP_MARGIN), player.getY());
+        } else if(player.getY() <= 0) {
+            player.updateCoord(player.getX(), player.getY() + (height - WRAP_MARGIN));
+        } else if(player.getY() + player.getHeight() >= height) {
+            player.updateCoord(player.getX(), player.getY() - (height - WRAP_MARGIN));
+        } else {
+            wrapped = false;
+        }
+
+        // the model jumps to the opposite edge, so the jump is not swept
+        if(wrapped) {
+            player.resetMotion();
+            ScoreCenter.addBonus();
+        }
+    }
+
+    private void applyRelease() {
+        player.setVector(Creature.Vector.NONE);
+    }
+
+    /**
+     * @return The number of steps made.
+     */
+    public long getTick() {
+        return tick;
+    }
+
+    /**
+     * @return The log recording this session's inputs (null while replaying).
+     */
+    public InputLog getRecord() {
+        return record;
+    }
+
+    /**
+     * @return true if the replayed session has reached its end
+     *         (always false for a live session).
+     */
+    public boolean isReplayFinished() {
+        return replay != null && replay.getLength() >= 0 && tick >= replay.getLength();
+    }
+}
@@ -0,0 +1,127 @@
+package com.game.Handler;
+
+import com.game.Model.EntityStore;
+import com.game.Model.Platform;
+import com.game.Model.Player;
+import com.game.Util.AssetCenter;
+import com.game.Util.CollisionGrid;
+import com.game.Util.Level;
+import com.game.Util.LevelCenter;
+
+import java.awt.*;
+
+/**
+ * The helper class which populates the game world from a level.
+ * Creatures register themselves in the CustomStorage once they are
+ * created, so the world is built the same way for a game on the screen
+ * and a headless one. The level also gives the size of the field.
+ * A finished world may be reset to its initial state in place, which
+ * takes no time and allocates nothing but the creatures' generators.
+ *
+ * @see com.game.View.CustomStorage
+ * @see com.game.Util.Level
+ */
+public abstract class World {
+    /**
+     * The size of the current world's field.
+     */
+    private static int width  = CollisionGrid.FIELD_WIDTH;
+    private static int height = CollisionGrid.FIELD_HEIGHT;
+
+    /**
+     * The name of the current world's level (null if the world was built
+     * from a level given as is).
+     */
+    private static String levelName = null;
+
+    /**
+     * Create the world of the game's level, the default one unless
+     * another one is chosen by the system property.
+     *
+     * @see com.game.Util.LevelCenter#getCurrentName()
+     *
+     * @return The created player.
+     */
+    public static Player createDefault() {
+        return create(LevelCenter.getCurrentName());
+    }
+
+    /**
+     * Create the world of the named level.
+     *
+     * @param name A level's name in the index or a path to a level file.
+     * @return The created player.
+     * @throws java.io.UncheckedIOException if the level can't be loaded.
+     */
+    public static Player create(String name) {
+        Player player = create(LevelCenter.getLevel(name));
+        levelName = name;
+
+        return player;
+    }
+
+    /**
+     * Create the player and the platforms of the level, taking the size
+     * of its field and the ranges of platforms' movement.
+     *
+     * @param level A parsed level.
+     * @return The created player.
+     */
+    public static Player create(Level level) {
+        levelName = null;
+        width = level.getWidth();
+        height = level.getHeight();
+        CollisionGrid.setField(width, height);
+        Platform.setRange(level.getLowRange(), level.getHighRange());
+        Platform.setField(width, height);
+
+        // each sprite is looked up once
+        Image[] sprites = new Image[level.getSpriteCount()];
+        for(int i = 0; i < sprites.length; i++) {
+            sprites[i] = AssetCenter.getImage(level.getSprite(i));
+        }
+
+        Player player = new Player(level.getPlayerX(), level.getPlayerY());
+
+        for(int i = 0; i < level.getPlatformCount(); i++) {
+            new Platform(sprites[level.getPlatformSprite(i)], level.getPlatformX(i), level.getPlatformY(i));
+        }
+
+        return player;
+    }
+
+    /**
+     * @return The name of the current world's level, null if the world
+     *         was built from a level given as is.
+     */
+    public static String getLevelName() {
+        return levelName;
+    }
+
+    /**
+     * @return The width of the current world's field.
+     */
+    public static int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return The height of the current world's field.
+     */
+    public static int getHeight() {
+        return height;
+    }
+
+    /**
+     * Respawn all creatures of the world in the order of their entities,
+     * so the world is the same as a new one built with the current seed.
+     * The RandomCenter should be reset first.
+     *
+     * @see com.game.Util.RandomCenter#reset()
+     */
+    public static void reset() {
+        for(int i = 0; i < EntityStore.size(); i++) {
+            EntityStore.getOwner(i).respawn();
+        }
+    }
+}
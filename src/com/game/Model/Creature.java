@@ -1,49 +1,93 @@
 package com.game.Model;
 
+import com.game.Util.CollisionGrid;
+import com.game.Util.RandomCenter;
 import com.game.View.*;
 
-import javax.swing.*;
+import java.awt.*;
 
 /**
  * The parent class for player and platform ones.
  * Any sub-class inherits methods declared/implemented here
  * and becomes a CollisionListener being registered in the
  * CustomStorage to get a notification when a collision occurred.
- * Sub-classes should be put into a frame or other container as a
- * JPanel, since they extend this class as well.
+ * A creature is a plain model (bounds, movement's vector and state)
+ * which does not depend on Swing, so the game world can be simulated
+ * without a screen. The model's state itself is kept in the EntityStore,
+ * a creature only holds the index of its entity there. Creatures are
+ * drawn by the GameCanvas in a single pass or shown by a CreatureView
+ * widget each.
  *
- * @see javax.swing.JPanel
+ * @see com.game.Model.EntityStore
  * @see com.game.View.CustomStorage
  * @see com.game.View.CollisionListener
  * @see com.game.View.CollisionEvent
+ * @see com.game.View.GameCanvas
+ * @see com.game.View.CreatureView
  *
  * Created by E. Mozharovsky on 19.06.14.
  */
-public abstract class Creature extends JPanel implements CollisionListener {
+public abstract class Creature implements CollisionListener {
     /**
-     * A flag that indicates if further movement possible or not.
+     * All movement's vectors by their ordinals.
      */
-    private boolean movementState = true;
+    private static final Vector[] VECTORS = Vector.values();
 
     /**
-     * The current movement's vector.
+     * The index of this creature's entity in the EntityStore, which
+     * keeps the creature's bounds, vector and movement state.
      *
-     * @see com.game.Model.Creature.Vector
+     * @see com.game.Model.EntityStore
      */
-    private Vector vector;
+    int index;
 
     /**
-     * Register this object in the CustomStorage as a CollisionListener.
+     * Allocate an entity in the EntityStore for this object and register
+     * it in the CustomStorage as a CollisionListener.
      *
+     * @see com.game.Model.EntityStore
      * @see com.game.View.CustomStorage
      * @see com.game.View.CollisionListener
      */
     public Creature() {
+        index = EntityStore.add(this, this instanceof Player ? EntityStore.PLAYER : EntityStore.PLATFORM);
         CustomStorage.addCollisionListener(this);
     }
 
     /**
-     * Shift the widget on the screen with the given offset params.
+     * @return The index of this creature's entity in the EntityStore
+     *         (-1 if the creature was removed).
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Unregister this object from the CustomStorage, so it is no longer
+     * simulated, drawn or checked for collisions.
+     *
+     * @see com.game.View.CustomStorage
+     */
+    public void despawn() {
+        CustomStorage.removeCollisionListener(this);
+    }
+
+    /**
+     * Put the creature back into the state it was created in, so the world
+     * may be restarted without creating creatures again. The creature gets
+     * a new generator from the RandomCenter, thus respawning all creatures
+     * in the order of their entities right after the RandomCenter was reset
+     * builds the same world as creating them does.
+     *
+     * @see com.game.Util.RandomCenter
+     */
+    public void respawn() {
+        EntityStore.flags[index] = EntityStore.MOVING;
+        EntityStore.random[index] = RandomCenter.split();
+    }
+
+    /**
+     * Shift the creature with the given offset params.
      *
      * @param x The current X-coordinate on the frame.
      * @param y The current Y-coordinate on the frame.
@@ -51,19 +95,84 @@ public abstract class Creature extends JPanel implements CollisionListener {
     public abstract void updateCoord(int x, int y);
 
     /**
-     * Set a delay time for painting this widget. A big delay
-     * will cause a slow movement, a little one in contrast a fast.
+     * Move and resize the creature, then update its place in the
+     * CollisionGrid, so the broad phase always sees the actual
+     * bounds.
+     *
+     * @see com.game.Util.CollisionGrid
+     *
+     * @param x      The new X-coordinate on the frame.
+     * @param y      The new Y-coordinate on the frame.
+     * @param width  The creature's width.
+     * @param height The creature's height.
+     */
+    protected final void relocate(int x, int y, int width, int height) {
+        EntityStore.x[index] = x;
+        EntityStore.y[index] = y;
+        EntityStore.width[index] = width;
+        EntityStore.height[index] = height;
+
+        CollisionGrid.update(this);
+    }
+
+    /**
+     * Forget the movement made since the previous collision check, so
+     * the creature is checked at its current bounds only. Should be called
+     * when the creature is placed or jumps to another place rather than
+     * moves there.
      *
-     * @param delay A delay period of time (milliseconds).
+     * @see com.game.Util.CollisionCenter
      */
-    protected void setDelay(long delay) {
-        try {
-            Thread.sleep(delay);
-        } catch(Exception ex) { }
+    public final void resetMotion() {
+        EntityStore.prevX[index] = EntityStore.x[index];
+        EntityStore.prevY[index] = EntityStore.y[index];
     }
 
     /**
-     * Stop painting the widget on the screen. Should be called
+     * @return The X-coordinate of the creature's top left corner.
+     */
+    public int getX() {
+        return EntityStore.x[index];
+    }
+
+    /**
+     * @return The Y-coordinate of the creature's top left corner.
+     */
+    public int getY() {
+        return EntityStore.y[index];
+    }
+
+    /**
+     * @return The creature's width.
+     */
+    public int getWidth() {
+        return EntityStore.width[index];
+    }
+
+    /**
+     * @return The creature's height.
+     */
+    public int getHeight() {
+        return EntityStore.height[index];
+    }
+
+    /**
+     * @return The image displaying the creature on the screen.
+     */
+    public abstract Image getImage();
+
+    /**
+     * Advance the creature by a single simulation step. Invoked by
+     * the Simulation for each registered creature, so sub-classes
+     * which move on their own should override it. Does nothing by
+     * default.
+     *
+     * @see com.game.Handler.Simulation
+     */
+    public void tick() { }
+
+    /**
+     * Stop moving the creature. Should be called
      * when a collision detected.
      *
      * @see com.game.View.CollisionListener
@@ -72,19 +181,23 @@ public abstract class Creature extends JPanel implements CollisionListener {
      *                          false - stop movement.
      */
     public void setMovementState(boolean state) {
-        movementState = state;
+        if(state) {
+            EntityStore.flags[index] |= EntityStore.MOVING;
+        } else {
+            EntityStore.flags[index] &= ~EntityStore.MOVING;
+        }
     }
 
     /**
      * An identifier of movement state. Used to check if
-     * the widget still moves or not.
+     * the creature still moves or not.
      *
-     * @return The current widget's movement state:
+     * @return The current creature's movement state:
      *                                 true - moves,
      *                                 false - is being stopped.
      */
     public boolean getMovementState() {
-        return movementState;
+        return (EntityStore.flags[index] & EntityStore.MOVING) != 0;
     }
 
     /**
@@ -92,25 +205,25 @@ public abstract class Creature extends JPanel implements CollisionListener {
      * @see com.game.Model.Creature.Vector
      */
     public Vector getVector() {
-        return vector;
+        return VECTORS[EntityStore.vector[index]];
     }
 
     /**
-     * Set the updated movement's vector when the widget changes
+     * Set the updated movement's vector when the creature changes
      * its direction of movement.
      *
      * @param vector A new (updated) movement's vector.
      * @see com.game.Model.Creature.Vector
      */
     public void setVector(Vector vector) {
-        this.vector = vector;
+        EntityStore.vector[index] = (byte) vector.ordinal();
     }
 
     /**
-     * A listener's method which stops the painting of this widget-listener.
+     * A listener's method which stops the movement of this creature-listener.
      *
-     * @param ev A collision event (a simple marker), saying that a collision
-     *           was detected.
+     * @param ev A collision event describing the collision this creature
+     *           takes part in.
      */
     @Override
     public final void collisionOccurred(CollisionEvent ev) {
@@ -0,0 +1,303 @@
+package com.game.Model;
+
+import com.game.Util.RandomCenter;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The storage of creatures' state laid out as a structure of arrays:
+ * coordinates, sizes, movement's bounds, vectors and flags of all
+ * creatures are kept in parallel primitive arrays, while a Creature
+ * object is only a handle holding its index in them. So the movement
+ * and collision loops read plain arrays sequentially instead of
+ * jumping between objects, and allocate nothing.
+ *
+ * Entities are packed from the start of the arrays, a removed entity's
+ * place is taken by the last one (its creature's index is updated). The
+ * arrays may be replaced when they grow, so they should be fetched again
+ * after creatures were added.
+ *
+ * @see com.game.Model.Creature
+ */
+public abstract class EntityStore {
+    /**
+     * The kind of a player's entity.
+     */
+    public static final byte PLAYER   = 0;
+
+    /**
+     * The kind of a platform's entity.
+     */
+    public static final byte PLATFORM = 1;
+
+    /**
+     * The flag of an entity which is able to move.
+     */
+    public static final byte MOVING   = 1;
+
+    /**
+     * The flag of an entity which was shifted on the current step.
+     */
+    public static final byte MOVED    = 2;
+
+    /**
+     * The flag of an entity which has reached the scope of its movement
+     * on the current step.
+     */
+    public static final byte TURNING  = 4;
+
+    // ordinals of Creature.Vector to switch on the store's bytes
+
+    public static final byte UP    = 0;
+    public static final byte DOWN  = 1;
+    public static final byte RIGHT = 2;
+    public static final byte LEFT  = 3;
+    public static final byte NONE  = 4;
+
+    /**
+     * The initial capacity of the arrays.
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * Bounds of entities: coordinates of top left corners and sizes.
+     */
+    static int[] x      = new int[INITIAL_CAPACITY];
+    static int[] y      = new int[INITIAL_CAPACITY];
+    static int[] width  = new int[INITIAL_CAPACITY];
+    static int[] height = new int[INITIAL_CAPACITY];
+
+    /**
+     * Coordinates of top left corners as of the previous collision check,
+     * so the movement made since then can be swept.
+     *
+     * @see com.game.Util.CollisionCenter
+     */
+    static int[] prevX  = new int[INITIAL_CAPACITY];
+    static int[] prevY  = new int[INITIAL_CAPACITY];
+
+    /**
+     * The lower bound of movement (for LEFT and UP vectors), an offset from
+     * the origin of the vector's axis.
+     */
+    static int[] low    = new int[INITIAL_CAPACITY];
+
+    /**
+     * The upper bound of movement (for RIGHT and DOWN vectors), an offset
+     * from the origin of the vector's axis.
+     */
+    static int[] high   = new int[INITIAL_CAPACITY];
+
+    /**
+     * Origins the bounds of movement are taken from on each axis, i.e. the
+     * top left corner of the part of the field a platform moves in.
+     */
+    static int[] originX = new int[INITIAL_CAPACITY];
+    static int[] originY = new int[INITIAL_CAPACITY];
+
+    /**
+     * Ordinals of movement's vectors.
+     *
+     * @see com.game.Model.Creature.Vector
+     */
+    static byte[] vector = new byte[INITIAL_CAPACITY];
+
+    /**
+     * Flags of entities, e.g. MOVING.
+     */
+    static byte[] flags  = new byte[INITIAL_CAPACITY];
+
+    /**
+     * Steps a far platform has left to make after turning on the current
+     * step, made once it has turned.
+     *
+     * @see com.game.Model.Platform#FAR_PERIOD
+     */
+    static byte[] carry  = new byte[INITIAL_CAPACITY];
+
+    /**
+     * Kinds of entities: PLAYER or PLATFORM.
+     */
+    static byte[] kind   = new byte[INITIAL_CAPACITY];
+
+    /**
+     * Random generators of entities.
+     *
+     * @see com.game.Util.RandomCenter
+     */
+    static SplittableRandom[] random = new SplittableRandom[INITIAL_CAPACITY];
+
+    /**
+     * Creatures owning the entities.
+     */
+    static Creature[] owners = new Creature[INITIAL_CAPACITY];
+
+    /**
+     * The number of entities.
+     */
+    static int size = 0;
+
+    /**
+     * Allocate an entity for the creature.
+     *
+     * @param creature A new creature.
+     * @param type     The creature's kind.
+     * @return The entity's index.
+     */
+    static int add(Creature creature, byte type) {
+        if(size == owners.length) {
+            grow(size * 2);
+        }
+
+        int index = size++;
+        x[index] = y[index] = width[index] = height[index] = 0;
+        prevX[index] = prevY[index] = 0;
+        low[index] = high[index] = 0;
+        originX[index] = originY[index] = 0;
+        vector[index] = NONE;
+        flags[index] = MOVING;
+        carry[index] = 0;
+        kind[index] = type;
+        random[index] = RandomCenter.split();
+        owners[index] = creature;
+
+        return index;
+    }
+
+    /**
+     * Release the creature's entity, moving the last one to its place.
+     *
+     * @param creature A creature which entity should be released.
+     */
+    public static void remove(Creature creature) {
+        int index = creature.index;
+        if(index < 0 || index >= size || owners[index] != creature) {
+            return;
+        }
+
+        int last = --size;
+        if(index != last) {
+            x[index] = x[last];
+            y[index] = y[last];
+            width[index] = width[last];
+            height[index] = height[last];
+            prevX[index] = prevX[last];
+            prevY[index] = prevY[last];
+            low[index] = low[last];
+            high[index] = high[last];
+            originX[index] = originX[last];
+            originY[index] = originY[last];
+            vector[index] = vector[last];
+            flags[index] = flags[last];
+            carry[index] = carry[last];
+            kind[index] = kind[last];
+            random[index] = random[last];
+            owners[index] = owners[last];
+            owners[index].index = index;
+        }
+
+        random[last] = null;
+        owners[last] = null;
+        creature.index = -1;
+    }
+
+    /**
+     * Release all entities.
+     */
+    public static void clear() {
+        for(int i = 0; i < size; i++) {
+            owners[i].index = -1;
+        }
+
+        Arrays.fill(random, 0, size, null);
+        Arrays.fill(owners, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Remember the current coordinates of all entities as the start of
+     * the movement checked by the next collision check.
+     */
+    public static void commitMotion() {
+        System.arraycopy(x, 0, prevX, 0, size);
+        System.arraycopy(y, 0, prevY, 0, size);
+    }
+
+    /**
+     * @return The number of entities.
+     */
+    public static int size() {
+        return size;
+    }
+
+    /**
+     * @param index An entity's index.
+     * @return The creature owning the entity.
+     */
+    public static Creature getOwner(int index) {
+        return owners[index];
+    }
+
+    // arrays for the hot loops (should not be kept between additions)
+
+    public static int[] xs() {
+        return x;
+    }
+
+    public static int[] ys() {
+        return y;
+    }
+
+    public static int[] widths() {
+        return width;
+    }
+
+    public static int[] heights() {
+        return height;
+    }
+
+    public static int[] prevXs() {
+        return prevX;
+    }
+
+    public static int[] prevYs() {
+        return prevY;
+    }
+
+    public static byte[] vectors() {
+        return vector;
+    }
+
+    public static byte[] flags() {
+        return flags;
+    }
+
+    public static byte[] kinds() {
+        return kind;
+    }
+
+    /**
+     * Resize all arrays.
+     *
+     * @param capacity The new capacity.
+     */
+    private static void grow(int capacity) {
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        prevX = Arrays.copyOf(prevX, capacity);
+        prevY = Arrays.copyOf(prevY, capacity);
+        low = Arrays.copyOf(low, capacity);
+        high = Arrays.copyOf(high, capacity);
+        originX = Arrays.copyOf(originX, capacity);
+        originY = Arrays.copyOf(originY, capacity);
+        vector = Arrays.copyOf(vector, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+        carry = Arrays.copyOf(carry, capacity);
+        kind = Arrays.copyOf(kind, capacity);
+        random = Arrays.copyOf(random, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+    }
+}
@@ -1,13 +1,9 @@
 package com.game.Model;
 
-import com.game.Util.CollisionCenter;
-import com.game.View.CollisionEvent;
-import com.game.View.CustomStorage;
+import com.game.Util.CollisionGrid;
+import com.game.Util.ParallelCenter;
 
 import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import javax.swing.Timer;
 
 /**
  * This Creature's sub-class is a simple platform controlled
@@ -16,19 +12,34 @@ import javax.swing.Timer;
  * own Image, Size parameters and Coordinates. They move
  * automatically, calculating the point of movement's end and
  * then change the movement Vector. Inherits everything from
- * Creature parent-class as well as Player one. This class
- * implements an ActionListener to provide a possibility to
- * perform the correct way to calculate movement.
+ * Creature parent-class as well as Player one. The movement
+ * is calculated on each simulation step. Random values are
+ * drawn from the platform's own seeded generator.
+ *
+ * In large worlds only platforms near the players are moved on each step.
+ * Farther ones are moved once per FAR_PERIOD steps by as much as they
+ * would have moved meanwhile, turning on the way if they reach their
+ * scopes, so they keep their pace while costing a fraction of near ones,
+ * and the farthest ones sleep until a player comes closer.
+ *
+ * Scopes of movement are drawn within a window of the field, which is as
+ * big as the level's high range on each axis: the field is divided into
+ * such windows and a platform moves in the one containing its spawn point
+ * (moved back into the field at the far edges), so platforms of a large
+ * world move everywhere in it, while a field no bigger than the window
+ * is a single one.
  *
  * @see com.game.Model.Creature
  * @see com.game.Model.Creature.Vector
+ * @see com.game.Handler.Simulation
+ * @see com.game.Util.RandomCenter
  *
  * Created by E. Mozharovsky on 19.06.14.
  */
-public final class Platform extends Creature implements ActionListener {
+public final class Platform extends Creature {
     /**
      * The platform's image displaying on the screen.
-     * This image fills the whole space of JPanel.
+     * This image fills the whole platform's bounds.
      */
     private final Image   img;
 
@@ -43,23 +54,51 @@ public final class Platform extends Creature implements ActionListener {
     private final int  HEIGHT;
 
     /**
-     * A timer to execute movement actions.
+     * The initial coordinates the platform is respawned on.
      */
-    private    Timer    timer;
+    private final int spawnX;
+    private final int spawnY;
 
     /**
-     * The start minimum for LEFT and UP vectors of movement.
-     *
-     * @see com.game.Model.Creature.Vector
+     * The number of steps a far platform is moved once per (a power of two).
      */
-    private int randomOne = 0;
+    public static final int FAR_PERIOD = 8;
 
     /**
-     * The start minimum for RIGHT and DOWN vectors of movement.
-     *
-     * @see com.game.Model.Creature.Vector
+     * The region near platforms intersect, set for the current step.
      */
-    private int randomTwo = 650;
+    private static int nearMinX, nearMinY, nearMaxX, nearMaxY;
+
+    /**
+     * The region awake platforms intersect, set for the current step.
+     */
+    private static int awakeMinX, awakeMinY, awakeMaxX, awakeMaxY;
+
+    /**
+     * The group of far platforms moved on the current step: platforms
+     * which indices give this remainder of division by FAR_PERIOD, so
+     * far platforms are spread evenly over steps.
+     */
+    private static int farGroup = 0;
+
+    /**
+     * The bound (exclusive) of scopes' minimums for UP and LEFT vectors
+     * of movement within the window, given by the level.
+     */
+    private static int lowRange  = 100;
+
+    /**
+     * The bound (exclusive) of scopes' maximums for RIGHT and DOWN vectors
+     * of movement within the window, also the start maximum and the
+     * window's size, given by the level.
+     */
+    private static int highRange = 650;
+
+    /**
+     * The size of the field windows are laid over.
+     */
+    private static int fieldWidth  = CollisionGrid.FIELD_WIDTH;
+    private static int fieldHeight = CollisionGrid.FIELD_HEIGHT;
 
     /**
      * Create a new Platform object with given arguments, initializing
@@ -71,24 +110,73 @@ public final class Platform extends Creature implements ActionListener {
      */
     public Platform(final Image img, int x, int y) {
         this.img = img;
-        WIDTH = img.getWidth(this);
-        HEIGHT = img.getHeight(this);
+        WIDTH = img.getWidth(null);
+        HEIGHT = img.getHeight(null);
+        spawnX = x;
+        spawnY = y;
+
+        place();
+    }
+
+    /**
+     * Put the platform back to its initial place with a new random vector.
+     */
+    @Override
+    public void respawn() {
+        super.respawn();
 
-        setBounds(x, y, WIDTH, HEIGHT);
+        place();
+    }
+
+    /**
+     * Place the platform on its initial coordinates and start it moving.
+     */
+    private void place() {
+        relocate(spawnX, spawnY, WIDTH, HEIGHT);
+        resetMotion();
         setVector(getInitVector()); // init the initial vector randomly
 
-        // set timer on repeating each 20 milliseconds and with
-        // a 100 milliseconds delay, then start it
-        timer = new Timer(20, this);
-        timer.setInitialDelay(100);
-        timer.start();
+        // the start scope of movement within the window of the spawn point
+        EntityStore.originX[index] = getOrigin(spawnX, fieldWidth);
+        EntityStore.originY[index] = getOrigin(spawnY, fieldHeight);
+        EntityStore.low[index] = 0;
+        EntityStore.high[index] = highRange;
     }
 
     /**
-     * Stop the timer once the movement is no longer processed.
+     * @param spawn A spawn point's coordinate.
+     * @param size  The field's size on the same axis.
+     * @return The coordinate of the start of the window containing the
+     *         point, so the window does not leave the field.
      */
-    private void timerStop() {
-        timer.stop();
+    private static int getOrigin(int spawn, int size) {
+        return Math.max(0, Math.min(spawn / highRange * highRange, size - highRange));
+    }
+
+    /**
+     * Set the ranges platforms draw their scopes of movement from. Should
+     * be set before platforms of a level are created.
+     *
+     * @see com.game.Util.Level
+     *
+     * @param low  The bound (exclusive) of scopes' minimums.
+     * @param high The bound (exclusive) of scopes' maximums.
+     */
+    public static void setRange(int low, int high) {
+        lowRange = low;
+        highRange = high;
+    }
+
+    /**
+     * Set the size of the field windows of movement are laid over. Should
+     * be set before platforms of a level are created.
+     *
+     * @param width  The field's width.
+     * @param height The field's height.
+     */
+    public static void setField(int width, int height) {
+        fieldWidth = width;
+        fieldHeight = height;
     }
 
     /**
@@ -97,7 +185,7 @@ public final class Platform extends Creature implements ActionListener {
      * @return The initial vector of movement.
      */
     private Vector getInitVector() {
-        int random = (int)(Math.random() * 8);
+        int random = EntityStore.random[index].nextInt(8);
         switch (random) {
             case 1: return Vector.UP;
             case 2: return Vector.DOWN;
@@ -108,107 +196,240 @@ public final class Platform extends Creature implements ActionListener {
     }
 
     /**
-     * Random updating of movement's vector after the previous movement
-     * was finished. We check if the current vector is not equals to the
-     * one we have got via random selecting, if it is then go next and if
-     * it is not update the vector.
+     * Move every platform able to move in the EntityStore by a single step.
+     * The loop runs over the store's arrays only and is done in two passes:
+     * the first one shifts platforms, writing their own slots only, so it is
+     * split across cores for large worlds; the second one goes in the index
+     * order on the calling thread, updating the CollisionGrid and drawing new
+     * scopes and vectors for platforms which reached their scopes. Thus a
+     * parallel step gives the same result as a sequential one.
+     *
+     * @see com.game.Model.EntityStore
+     * @see com.game.Util.ParallelCenter
+     */
+    public static void moveAll() {
+        moveAll(0, null, null);
+    }
+
+    /**
+     * Move platforms the way moveAll() does, but only the ones intersecting
+     * the near region by a single step. Platforms intersecting the awake
+     * region only are moved once per FAR_PERIOD steps, by FAR_PERIOD steps
+     * at once, and the others are not moved.
+     *
+     * @param tick  The step's number.
+     * @param near  The near region (null - the whole world).
+     * @param awake The awake region containing the near one (null - the
+     *              whole world).
+     */
+    public static void moveAll(long tick, Rectangle near, Rectangle awake) {
+        nearMinX = near != null ? near.x : Integer.MIN_VALUE;
+        nearMinY = near != null ? near.y : Integer.MIN_VALUE;
+        nearMaxX = near != null ? near.x + near.width : Integer.MAX_VALUE;
+        nearMaxY = near != null ? near.y + near.height : Integer.MAX_VALUE;
+
+        awakeMinX = awake != null ? awake.x : Integer.MIN_VALUE;
+        awakeMinY = awake != null ? awake.y : Integer.MIN_VALUE;
+        awakeMaxX = awake != null ? awake.x + awake.width : Integer.MAX_VALUE;
+        awakeMaxY = awake != null ? awake.y + awake.height : Integer.MAX_VALUE;
+
+        farGroup = (int) (tick & (FAR_PERIOD - 1));
+
+        ParallelCenter.forRange(0, EntityStore.size, Platform::advance);
+        settle(0, EntityStore.size);
+    }
+
+    /**
+     * The first pass of movement: shift the platforms of the range which are
+     * able to move and mark them as MOVED, or mark them as TURNING if their
+     * scopes were reached. Far platforms are skipped unless it is their
+     * group's step, sleeping ones are skipped.
+     *
+     * @param from The first entity's index (inclusive).
+     * @param to   The last entity's index (exclusive).
      */
-    private void generateVector() {
-        int random = (int)(Math.random() * 8);
-
-        try {
-            switch (random) {
-                case 1: case 5:
-                    if (getVector().equals(Vector.UP)) {
-                        break;
-                    }
-
-                    setVector(Vector.UP);
-                    break;
-                case 2: case 6:
-                    if (getVector().equals(Vector.DOWN)) {
-                        break;
-                    }
-
-                    setVector(Vector.DOWN);
-                    break;
-                case 3: case 7:
-                    if (getVector().equals(Vector.RIGHT)) {
-                        break;
-                    }
-
-                    setVector(Vector.RIGHT);
-                    break;
-                case 4: case 8:
-                    if (getVector().equals(Vector.LEFT)) {
-                        break;
-                    }
-
-                    setVector(Vector.LEFT);
-                    break;
+    private static void advance(int from, int to) {
+        final byte[] kind = EntityStore.kind;
+        final byte[] flags = EntityStore.flags;
+
+        for(int i = from; i < to; i++) {
+            if(kind[i] != EntityStore.PLATFORM || (flags[i] & EntityStore.MOVING) == 0) {
+                continue;
             }
-        } catch (StackOverflowError ex) {
-            ex.printStackTrace();
-            generateVector(); // try again
+
+            if(intersects(i, nearMinX, nearMinY, nearMaxX, nearMaxY)) {
+                flags[i] |= shift(i) ? EntityStore.MOVED : EntityStore.TURNING;
+            } else if((i & (FAR_PERIOD - 1)) == farGroup &&
+                    intersects(i, awakeMinX, awakeMinY, awakeMaxX, awakeMaxY)) {
+                flags[i] |= shiftFar(i);
+            }
+        }
+    }
+
+    /**
+     * @param i The index of a platform's entity.
+     * @return true if the platform intersects the region.
+     */
+    private static boolean intersects(int i, int minX, int minY, int maxX, int maxY) {
+        return EntityStore.x[i] + EntityStore.width[i] >= minX && EntityStore.x[i] <= maxX &&
+                EntityStore.y[i] + EntityStore.height[i] >= minY && EntityStore.y[i] <= maxY;
+    }
+
+    /**
+     * Shift a far platform by FAR_PERIOD steps at once, stopping once its
+     * scope is reached; the steps left after the turning one are carried
+     * to the second pass, which makes them after the turn.
+     *
+     * @param i The index of a platform's entity.
+     * @return The flags to set: MOVED if the platform was shifted, TURNING
+     *         if its scope was reached, or both.
+     */
+    private static byte shiftFar(int i) {
+        byte result = 0;
+
+        for(int step = 0; step < FAR_PERIOD; step++) {
+            if(!shift(i)) {
+                EntityStore.carry[i] = (byte) (FAR_PERIOD - step - 1);
+                return (byte) (result | EntityStore.TURNING);
+            }
+            result = EntityStore.MOVED;
         }
+
+        return result;
     }
 
-    // movement actions
+    /**
+     * The second pass of movement: turn TURNING platforms, making the steps
+     * far ones carried past their turns, and update places of MOVED ones
+     * in the CollisionGrid (a far platform may be both).
+     *
+     * @param from The first entity's index (inclusive).
+     * @param to   The last entity's index (exclusive).
+     */
+    private static void settle(int from, int to) {
+        final byte[] flags = EntityStore.flags;
+
+        for(int i = from; i < to; i++) {
+            if((flags[i] & EntityStore.TURNING) != 0) {
+                turn(i);
+
+                if(EntityStore.carry[i] > 0 && catchUp(i)) {
+                    flags[i] |= EntityStore.MOVED;
+                }
+            }
+            if((flags[i] & EntityStore.MOVED) != 0) {
+                CollisionGrid.update(EntityStore.owners[i]);
+            }
+
+            flags[i] &= ~(EntityStore.MOVED | EntityStore.TURNING);
+        }
+    }
 
     /**
-     * Shift the platform to the right until the randomly
-     * generated scope is reached, then randomly change the
-     * movement's vector.
+     * Make the steps a far platform carried past its turn, each one either
+     * shifts the platform or turns it again, as a near platform's step does.
+     *
+     * @param i The index of a platform's entity.
+     * @return true if the platform was shifted.
      */
-    private void moveRight() {
-        if(getX() + getWidth() < randomTwo) {
-            updateCoord(getX() + 10, getY());
-            repaint();
-        } else {
-            randomTwo = (int)(Math.random() * 650);
-            generateVector();
+    private static boolean catchUp(int i) {
+        boolean moved = false;
+
+        for(int step = EntityStore.carry[i]; step > 0; step--) {
+            if(shift(i)) {
+                moved = true;
+            } else {
+                turn(i);
+            }
         }
+
+        EntityStore.carry[i] = 0;
+        return moved;
     }
 
     /**
-     * Shift the platform to the left until the randomly
-     * generated scope is reached, then randomly change the
-     * movement's vector.
+     * Shift the platform's entity along its vector until the scope of
+     * the movement is reached.
+     *
+     * @param i The index of a platform's entity.
+     * @return true if the platform was shifted, false if the scope is reached.
      */
-    private void moveLeft() {
-        if(getX() > randomOne) {
-            updateCoord(getX() - 10, getY());
-        } else {
-            randomOne = (int)(Math.random() * 100);
-            generateVector();
+    private static boolean shift(int i) {
+        switch(EntityStore.vector[i]) {
+            case EntityStore.UP:
+                if(EntityStore.y[i] > EntityStore.originY[i] + EntityStore.low[i]) {
+                    EntityStore.y[i] -= 10;
+                    return true;
+                }
+                break;
+            case EntityStore.DOWN:
+                if(EntityStore.y[i] + EntityStore.height[i] < EntityStore.originY[i] + EntityStore.high[i]) {
+                    EntityStore.y[i] += 10;
+                    return true;
+                }
+                break;
+            case EntityStore.LEFT:
+                if(EntityStore.x[i] > EntityStore.originX[i] + EntityStore.low[i]) {
+                    EntityStore.x[i] -= 10;
+                    return true;
+                }
+                break;
+            case EntityStore.RIGHT:
+                if(EntityStore.x[i] + EntityStore.width[i] < EntityStore.originX[i] + EntityStore.high[i]) {
+                    EntityStore.x[i] += 10;
+                    return true;
+                }
+                break;
         }
+
+        return false;
     }
 
     /**
-     * Shift the platform to the up until the randomly
-     * generated scope is reached, then randomly change the
-     * movement's vector.
+     * The platform has reached the scope of its movement: randomly generate
+     * a new scope for the current vector, then randomly change the vector.
+     * Values are drawn from the entity's own generator.
+     *
+     * @param i The index of a platform's entity.
      */
-    private void moveUp() {
-        if(getY() > randomOne) {
-            updateCoord(getX(), getY() - 10);
-        } else {
-            randomOne = (int)(Math.random() * 100);
-            generateVector();
+    private static void turn(int i) {
+        switch(EntityStore.vector[i]) {
+            case EntityStore.UP:
+            case EntityStore.LEFT:
+                EntityStore.low[i] = EntityStore.random[i].nextInt(lowRange);
+                break;
+            case EntityStore.DOWN:
+            case EntityStore.RIGHT:
+                EntityStore.high[i] = EntityStore.random[i].nextInt(highRange);
+                break;
         }
+
+        generateVector(i);
     }
 
     /**
-     * Shift the platform to the down until the randomly
-     * generated scope is reached, then randomly change the
-     * movement's vector.
+     * Random updating of movement's vector after the previous movement
+     * was finished. If the vector we have got via random selecting is
+     * the current one, the platform keeps moving the same way.
+     *
+     * @param i The index of a platform's entity.
      */
-    private void moveDown() {
-        if(getY() + getHeight() < randomTwo) {
-            updateCoord(getX(), getY() + 10);
-        } else {
-            randomTwo = (int)(Math.random() * 650);
-            generateVector();
+    private static void generateVector(int i) {
+        int random = EntityStore.random[i].nextInt(8);
+
+        switch (random) {
+            case 1: case 5:
+                EntityStore.vector[i] = EntityStore.UP;
+                break;
+            case 2: case 6:
+                EntityStore.vector[i] = EntityStore.DOWN;
+                break;
+            case 3: case 7:
+                EntityStore.vector[i] = EntityStore.RIGHT;
+                break;
+            case 4:
+                EntityStore.vector[i] = EntityStore.LEFT;
+                break;
         }
     }
 
@@ -222,55 +443,27 @@ public final class Platform extends Creature implements ActionListener {
     @Override
     public void updateCoord(int x, int y) {
         if(getMovementState()) {
-            setBounds(x, y, WIDTH, HEIGHT);
-            repaint();
+            relocate(x, y, WIDTH, HEIGHT);
         }
     }
 
     /**
-     * Draw an image on the updated panel (with new coordinates).
-     * Generate a new CollisionEvent and ask CollisionCenter to broadcast
-     * it to all CollisionListener objects if a collision was detected.
-     *
-     * @see com.game.Util.CollisionCenter
-     * @see com.game.View.CollisionEvent
-     * @see com.game.View.CollisionListener
-     *
-     * @param g The Graphics object we use to paint this widget on.
+     * @return The image displaying the platform on the screen.
      */
     @Override
-    protected final void paintComponent(Graphics g) {
-        if(!CollisionCenter.isMovementPossible()) {
-            CustomStorage.broadcastCollisionEvent(new CollisionEvent() {
-            });
-            timerStop();
-        }
-
-        g.drawImage(img, 0, 0, getWidth(), getHeight(), this);
+    public Image getImage() {
+        return img;
     }
 
     /**
-     * Invoke each 20 milliseconds, here we check vector and do movement
-     * actions depending on it. All vector changes are being processed inside
-     * of movement actions methods.
-     *
-     * @param ev An ActionEvent object.
+     * Invoke on each simulation step, here we do a movement action
+     * depending on the vector, if the platform is able to move.
      */
     @Override
-    public void actionPerformed(ActionEvent ev) {
-        switch(getVector()) {
-            case UP:
-                moveUp();
-                break;
-            case DOWN:
-                moveDown();
-                break;
-            case LEFT:
-                moveLeft();
-                break;
-            case RIGHT:
-                moveRight();
-                break;
+    public void tick() {
+        if(getMovementState()) {
+            advance(index, index + 1);
+            settle(index, index + 1);
         }
     }
 }
@@ -1,23 +1,18 @@
 package com.game.Model;
 
-import com.game.Util.CollisionCenter;
-import com.game.View.CollisionEvent;
-import com.game.View.CustomStorage;
+import com.game.Util.AssetCenter;
 
-import javax.swing.*;
 import java.awt.*;
 
 /**
  * The sub-class of Creature  which is going to be
  * controlled by the player and his actions. This is
- * just a simple JPanel which draws an image loaded
- * in the static initializer (as well as other parameters)
- * each time paintComponent() method is been invoked. There
- * should be the only Player in game. Inherits everything
- * from Creature and JPanel.
+ * just a simple model displayed with an image loaded
+ * in the static initializer (as well as other parameters).
+ * There should be the only Player in game. Inherits
+ * everything from Creature.
  *
  * @see com.game.Model.Creature
- * @see javax.swing.JPanel
  *
  * Created by E. Mozharovsky on 19.06.14.
  */
@@ -26,7 +21,7 @@ public final class Player extends Creature {
 
     /**
      * The player's image displaying on the screen.
-     * This image fills the whole space of JPanel.
+     * This image fills the whole player's bounds.
      */
     private static final Image img;
 
@@ -45,52 +40,74 @@ public final class Player extends Creature {
      * there is the only player in game).
      */
     static {
-        img = new ImageIcon("resources/Cube.png").getImage();
+        img = AssetCenter.getImage("Cube.png");
         WIDTH  = img.getWidth(null);
         HEIGHT = img.getHeight(null);
     }
 
+    /**
+     * The initial coordinates the player is respawned on.
+     */
+    private final int spawnX;
+    private final int spawnY;
+
     /**
      * Create a new Player object with initialized constants and
-     * the specific coordinates on the frame. The initial vector
+     * the default coordinates on the frame. The initial vector
      * is NONE.
      *
      * @see com.game.Model.Creature
      * @see com.game.Model.Creature.Vector
      */
     public Player() {
+        this(50, 50);
+    }
+
+    /**
+     * Create a new Player object on the given coordinates, e.g. the
+     * level's ones. The initial vector is NONE.
+     *
+     * @param x The initial X-coordinate on the frame.
+     * @param y The initial Y-coordinate on the frame.
+     */
+    public Player(int x, int y) {
         super();
 
-        setVector(Vector.NONE);
-        setBounds(50, 50, WIDTH, HEIGHT);
+        spawnX = x;
+        spawnY = y;
+        place();
     }
 
     /**
-     * Draw an image on the updated panel (with new coordinates).
-     * Generate a new CollisionEvent and ask CollisionCenter to broadcast
-     * it to all CollisionListener objects if a collision was detected.
-     *
-     * @see com.game.Util.CollisionCenter
-     * @see com.game.View.CollisionEvent
-     * @see com.game.View.CollisionListener
-     *
-     * @param g The Graphics object we use to paint this widget on.
+     * Put the player back to its initial place.
      */
     @Override
-    protected final void paintComponent(Graphics g) {
-        if(!CollisionCenter.isMovementPossible()) {
-            CustomStorage.broadcastCollisionEvent(new CollisionEvent() {
-            });
-        }
+    public void respawn() {
+        super.respawn();
+
+        place();
+    }
 
-        g.drawImage(img, 0, 0, getWidth(), getHeight(), this);
+    /**
+     * Stop the player on its initial place.
+     */
+    private void place() {
+        setVector(Vector.NONE);
+        relocate(spawnX, spawnY, WIDTH, HEIGHT);
+        resetMotion();
+    }
+
+    /**
+     * @return The image displaying the player on the screen.
+     */
+    @Override
+    public Image getImage() {
+        return img;
     }
 
     /**
      * Inherit the method from Creature paren-class and check if
-     * further movement is possible. Also provides a possibility
-     * to make the movement slower (originally, it was designed to
-     * change the speed of painting all widgets).
+     * further movement is possible.
      *
      * @param x The current X-coordinate on the frame.
      * @param y The current Y-coordinate on the frame.
@@ -98,9 +115,7 @@ public final class Player extends Creature {
     @Override
     public void updateCoord(int x, int y) {
         if(getMovementState()) {
-            setBounds(x, y, WIDTH, HEIGHT);
-            setDelay(0); // if we want to make a movement slower
-            repaint();   // update the model on the screen
+            relocate(x, y, WIDTH, HEIGHT);
         }
     }
 }
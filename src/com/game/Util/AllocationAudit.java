@@ -0,0 +1,92 @@
+package com.game.Util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * The helper class which measures the memory allocated by the simulation.
+ * The number of bytes allocated by the current thread is read before and
+ * after the audited steps (com.sun.management.ThreadMXBean), so nothing
+ * allocated by other threads is counted. In the steady state a step is
+ * expected to allocate nothing, since garbage collection pauses would show
+ * up as frame hitches.
+ *
+ * The audit is switched on with -Dsnake.audit=true and reports the average
+ * number of bytes per step every REPORT_TICKS steps.
+ *
+ * @see com.game.Handler.GameLoop
+ * @see com.game.Handler.HeadlessGame
+ */
+public abstract class AllocationAudit {
+    /**
+     * The system property switching the audit on.
+     */
+    public static final String AUDIT_PROPERTY = "snake.audit";
+
+    /**
+     * The number of steps each report is made after.
+     */
+    public static final int REPORT_TICKS = 500;
+
+    /**
+     * The bean giving allocated bytes per thread (null if the JVM does not
+     * support it).
+     */
+    private static final com.sun.management.ThreadMXBean bean = findBean();
+
+    /**
+     * Either the audit is switched on.
+     */
+    private static final boolean enabled =
+            Boolean.getBoolean(AUDIT_PROPERTY) && isSupported();
+
+    // the current report
+
+    private static long allocated = 0;
+    private static long ticks = 0;
+
+    /**
+     * @return true if the audit was switched on by the system property.
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return true if the JVM is able to measure allocations per thread.
+     */
+    public static boolean isSupported() {
+        return bean != null && bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * @return The number of bytes allocated by the current thread so far
+     *         (-1 if it is not supported).
+     */
+    public static long threadAllocatedBytes() {
+        return bean != null ? bean.getThreadAllocatedBytes(Thread.currentThread().getId()) : -1;
+    }
+
+    /**
+     * Count the bytes allocated by the audited steps and print a report once
+     * enough steps were counted.
+     *
+     * @param bytes The bytes allocated by the steps.
+     * @param steps The number of steps.
+     */
+    public static void count(long bytes, int steps) {
+        allocated += bytes;
+        ticks += steps;
+
+        if(ticks >= REPORT_TICKS) {
+            System.out.printf("Allocated: %.1f bytes/tick (%d ticks)%n", (double) allocated / ticks, ticks);
+            allocated = 0;
+            ticks = 0;
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean findBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        return bean instanceof com.sun.management.ThreadMXBean ? (com.sun.management.ThreadMXBean) bean : null;
+    }
+}
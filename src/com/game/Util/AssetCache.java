@@ -0,0 +1,97 @@
+package com.game.Util;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+/**
+ * A cache of loaded resources by their names, shared by the AssetCenter
+ * and the LevelCenter. Each resource is loaded a single time, either by
+ * the first caller asking for it or in background by the loader thread
+ * common to all caches, and the same instance is then returned to all
+ * its users. A caller asking for a resource being preloaded waits until
+ * it is ready. A resource which failed to load is loaded again on the
+ * next request.
+ *
+ * @param <V> The type of loaded resources.
+ *
+ * @see com.game.Util.AssetCenter
+ * @see com.game.Util.LevelCenter
+ */
+final class AssetCache<V> {
+    /**
+     * A background thread for preloading resources of all caches.
+     */
+    private static final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "asset-loader");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Loaded (or being loaded) resources by their names.
+     */
+    private final ConcurrentMap<String, Future<V>> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Loads a resource by its name, throwing UncheckedIOException if it
+     * can't be loaded.
+     */
+    private final Function<String, V> loading;
+
+    /**
+     * @param loading Loads a resource by its name, throwing
+     *                UncheckedIOException if it can't be loaded.
+     */
+    AssetCache(Function<String, V> loading) {
+        this.loading = loading;
+    }
+
+    /**
+     * Get the resource, loading it right here if it is necessary. If the
+     * resource is being preloaded, wait until it is ready.
+     *
+     * @param name The resource's name.
+     * @return The loaded resource.
+     * @throws java.io.UncheckedIOException if the resource can't be loaded.
+     */
+    V get(String name) {
+        FutureTask<V> task = new FutureTask<>(() -> loading.apply(name));
+        Future<V> future = entries.putIfAbsent(name, task);
+
+        if(future == null) {
+            future = task;
+            task.run();
+        }
+
+        try {
+            return future.get();
+        } catch(InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading " + name, ex);
+        } catch(ExecutionException ex) {
+            entries.remove(name, future); // let the next call try again
+
+            if(ex.getCause() instanceof UncheckedIOException) {
+                throw (UncheckedIOException) ex.getCause();
+            }
+            throw new IllegalStateException("Can't load " + name, ex.getCause());
+        }
+    }
+
+    /**
+     * Start loading the resources in background unless they are already
+     * loaded or being loaded.
+     *
+     * @param names Resources' names.
+     */
+    void preload(String... names) {
+        for(String name : names) {
+            FutureTask<V> task = new FutureTask<>(() -> loading.apply(name));
+
+            if(entries.putIfAbsent(name, task) == null) {
+                loader.execute(task);
+            }
+        }
+    }
+}
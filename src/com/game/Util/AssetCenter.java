@@ -0,0 +1,134 @@
+package com.game.Util;
+
+import javax.imageio.ImageIO;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * The helper class which loads game's images. Each image is loaded a
+ * single time, converted into the screen compatible format and then the
+ * same instance is shared between all its users, so starting a new game
+ * does not read files again and equal sprites do not take memory twice.
+ *
+ * Images are looked up on the classpath (the resources folder is a
+ * resource root) and then in the "resources" folder of the working
+ * directory. They may be preloaded in background, e.g. while the main
+ * menu is shown, so the game starts without waiting for disk.
+ */
+public abstract class AssetCenter {
+    /**
+     * The folder of images relative to the working directory.
+     */
+    private static final String RESOURCES = "resources/";
+
+    /**
+     * Loaded (or being loaded) images by their names.
+     */
+    private static final AssetCache<BufferedImage> images = new AssetCache<>(AssetCenter::load);
+
+    /**
+     * Get a shared instance of the image, loading it if it is necessary.
+     * If the image is being preloaded, wait until it is ready.
+     *
+     * @param name The image's file name, e.g. "Cube.png".
+     * @return The loaded image.
+     * @throws java.io.UncheckedIOException if the image can't be loaded.
+     */
+    public static BufferedImage getImage(String name) {
+        return images.get(name);
+    }
+
+    /**
+     * Start loading the images in background unless they are already
+     * loaded or being loaded.
+     *
+     * @param names Images' file names.
+     */
+    public static void preload(String... names) {
+        images.preload(names);
+    }
+
+    /**
+     * Read the image and convert it into the screen compatible format.
+     *
+     * @param name The image's file name.
+     * @return The loaded image.
+     */
+    private static BufferedImage load(String name) {
+        URL url = find(name);
+        if(url == null) {
+            throw new UncheckedIOException(new IOException("Image not found: " + name));
+        }
+
+        try {
+            BufferedImage img = ImageIO.read(url);
+            if(img == null) {
+                throw new IOException("Unsupported image format: " + name);
+            }
+
+            return toCompatible(img);
+        } catch(IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * @param name The resource's file name, e.g. an image's one.
+     * @return A location of the resource or null if it is not found.
+     */
+    static URL find(String name) {
+        URL url = AssetCenter.class.getResource("/" + name);
+        if(url == null) {
+            url = AssetCenter.class.getResource("/" + RESOURCES + name);
+        }
+
+        File file = new File(RESOURCES + name);
+        if(url == null && file.isFile()) {
+            try {
+                url = file.toURI().toURL();
+            } catch(MalformedURLException ex) {
+                return null;
+            }
+        }
+
+        return url;
+    }
+
+    /**
+     * Copy the image into a new one having the screen's pixel format, so
+     * it is drawn without conversions. The image is returned as is when
+     * there is no screen.
+     *
+     * @param img A loaded image.
+     * @return The converted image.
+     */
+    private static BufferedImage toCompatible(BufferedImage img) {
+        if(GraphicsEnvironment.isHeadless()) {
+            return img;
+        }
+
+        GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+
+        if(img.getColorModel().equals(configuration.getColorModel(img.getTransparency()))) {
+            return img;
+        }
+
+        BufferedImage compatible = configuration.createCompatibleImage(
+                img.getWidth(), img.getHeight(), img.getTransparency());
+
+        Graphics2D g = compatible.createGraphics();
+        try {
+            g.drawImage(img, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+
+        return compatible;
+    }
+}
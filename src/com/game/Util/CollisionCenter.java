@@ -1,214 +1,297 @@
 package com.game.Util;
 
 import com.game.Model.Creature;
+import com.game.Model.EntityStore;
 import com.game.Model.Platform;
 import com.game.Model.Player;
-import com.game.View.CollisionListener;
+import com.game.View.CollisionEvent;
+import com.game.View.CollisionEventPool;
 import com.game.View.CustomStorage;
+import com.game.View.EntityList;
+
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * The helper class which works with founding collisions between objects.
- * Also doing some count work on the player's score points.
  * All methods are static, so there is no need to create an instance of
- * this class, since each sub-Creature instance which wants to be painted
- * again after its movement should check either further movement is possible
- * or not.
+ * this class, since the simulation checks either further movement is
+ * possible or not once per step, after all creatures have moved.
+ * The CollisionGrid gives the narrow phase a handful of candidates per
+ * player, so it runs on the calling thread.
+ *
+ * Besides the overlap of the current bounds, the movement made since the
+ * previous check is swept: if a creature passed through another one
+ * between two checks (a fast drag or a big step), the time of impact is
+ * found and the player is moved back to the place of impact relatively to
+ * the platform, which stays where it is. Jumps
+ * (e.g. the player's wrap at the field's edges) are not swept.
  *
  * @see com.game.Model.Creature
+ * @see com.game.Handler.Simulation
  *
  * Created by E. Mozharovsky on 19.06.14.
  */
 public abstract class CollisionCenter {
     /**
-     * The player's score points which come each time a collision wasn't found.
+     * Creatures around the currently checked player given by the
+     * CollisionGrid (reused between checks).
      */
-    private static int score = 0;
+    private static final List<Creature> candidates = new ArrayList<>();
 
     /**
-     * @return The points scored.
+     * The result of the narrow phase (reused between checks).
      */
-    public static int getScore() {
-        return score;
-    }
+    private static final Contact contact = new Contact();
 
     /**
-     * Remove all previous score points.
+     * Players of the colliding pairs found on the current check.
      */
-    public static void cleanScore() {
-        score = 0;
-    }
+    private static final List<Player> collidingPlayers = new ArrayList<>();
+
+    /**
+     * Platforms of the colliding pairs found on the current check.
+     */
+    private static final List<Platform> collidingPlatforms = new ArrayList<>();
+
+    /**
+     * Events sent to the colliding creatures.
+     */
+    private static final CollisionEventPool eventPool = new CollisionEventPool();
 
     /**
-     * Iterate each CollisionListener element in CustomStorage collection to find
-     * a player's object and then do the same with platform's ones (inside of the
-     * player's founding branch). Check if player is moving at the moment if yes,
-     * then finds any object on the player's trajectory (considering the possible
-     * area of collision), and if an object is inside of this area do a check on
-     * a collision so if it occurs increment collisionCount integer variable to
-     * say that at least one collision was detected (because there is a possibility
-     * that more than one collision can be occurred, so we should be sure that we
-     * know about this) and assign a status as false, saying that a movement is
-     * not possible for the caller's object. If the player is not moving, we check
-     * objects which can collide with the player on the possible collision area, so
-     * if it occurs we do the same as with player - increment collisionCount integer
-     * variable and then change status to false.
+     * Check if no player collides with a platform at the moment.
      *
-     * @see com.game.View.CustomStorage
-     * @see com.game.View.CollisionListener
+     * @see com.game.Util.CollisionCenter#findCollisions()
      *
      * @return The status of check:
      *                              true - Collision was not found.
      *                              false - Collision was found therefore
      *                                      any movement impossible.
      */
-    public static boolean  isMovementPossible() {
-        boolean status = true;
-
-        for(CollisionListener _player : CustomStorage.getCollisionListeners()) {
-            if (_player instanceof Player) {
-                final Player player = (Player) _player;
-
-                for(CollisionListener _platform : CustomStorage.getCollisionListeners()) {
-                    if (_platform instanceof Platform) {
-                        final Platform platform = (Platform) _platform;
-
-                        int collisionCount = 0;
-
-                        if (!player.getVector().equals(Creature.Vector.NONE)) {
-                            switch (player.getVector()) {
-                                case UP:
-                                    if (player.getY() <= platform.getY() + platform.getHeight() &
-                                            findLocationRelatedTo(player, platform).equals(Location.UPPER) ||
-                                            findLocationRelatedTo(player, platform).equals(Location.MULTI)) {
-                                        collisionCount++;
-                                    }
-                                case DOWN:
-                                    if (player.getY() + player.getHeight() >= platform.getY() &&
-                                            findLocationRelatedTo(player, platform).equals(Location.DOWNER) ||
-                                            findLocationRelatedTo(player, platform).equals(Location.MULTI)) {
-                                        collisionCount++;
-                                    }
-                                case RIGHT:
-                                    if (player.getX() + player.getWidth() >= platform.getX() &&
-                                            findLocationRelatedTo(player, platform).equals(Location.RIGHTER) ||
-                                            findLocationRelatedTo(player, platform).equals(Location.MULTI)) {
-                                        collisionCount++;
-                                    }
-                                case LEFT:
-                                    if (player.getX() <= platform.getX() + platform.getWidth() &&
-                                            findLocationRelatedTo(player, platform).equals(Location.LEFTER) ||
-                                            findLocationRelatedTo(player, platform).equals(Location.MULTI)) {
-                                        collisionCount++;
-                                    }
-                            }
-                        } else {
-                            switch (platform.getVector()) {
-                                case UP:
-                                    if (platform.getY() <= player.getY() + player.getHeight() &&
-                                            findLocationRelatedTo(platform, player).equals(Location.UPPER) ||
-                                            findLocationRelatedTo(platform, player).equals(Location.MULTI)) {
-                                        collisionCount++;
-                                    }
-                                    break;
-                                case DOWN:
-                                    if (platform.getY() + platform.getHeight() >= player.getY() &&
-                                            findLocationRelatedTo(platform, player).equals(Location.DOWNER) ||
-                                            findLocationRelatedTo(platform, player).equals(Location.MULTI)) {
-                                        collisionCount++;
-                                    }
-                                    break;
-                                case RIGHT:
-                                    if (platform.getX() + platform.getWidth() >= player.getX() &&
-                                            findLocationRelatedTo(platform, player).equals(Location.RIGHTER) ||
-                                            findLocationRelatedTo(platform, player).equals(Location.MULTI)) {
-                                        collisionCount++;
-                                    }
-                                    break;
-                                case LEFT:
-                                    if (platform.getX() <= player.getX() + player.getWidth() &&
-                                            findLocationRelatedTo(platform, player).equals(Location.LEFTER) ||
-                                            findLocationRelatedTo(platform, player).equals(Location.MULTI)) {
-                                        collisionCount++;
-                                    }
-                                    break;
-                            }
-                        }
-
-                        if (collisionCount >= 1) {
-                            status = false;
-                        } else {
-                            score++;
-                        }
-                    }
-                }
-            }
-        }
-
-        return status;
+    public static boolean isMovementPossible() {
+        return findCollisions() == 0;
     }
 
     /**
-     * Check coordinates of requester and requested objects and check if the second is inside of the first collision area,
-     * if so then return a particular location. But if the movement is being processed then we can get more than one location,
-     * to solute this issue we return MILTI location type, which means that the second object is inside of 2 or more locations
-     * having a possibility to collide with the first object. If that possibility is not found, we return NONE type.
+     * Find colliding players and platforms and send a CollisionEvent to
+     * both creatures of each colliding pair only. Events are taken from
+     * the CollisionEventPool, so they are valid during the dispatch only.
+     *
+     * @see com.game.View.CollisionEventPool
+     * @see com.game.View.CustomStorage#dispatchCollisionEvent(CollisionEvent)
      *
-     * @see com.game.Util.CollisionCenter.Location
+     * Once the check is done, the current bounds become the start of the
+     * movement swept by the next check.
      *
-     * @param one The requester which wants to know if the two object is inside of its possible collision area.
-     * @param two The second object which can or cannot be inside of the first possible collision area.
-     * @return A location of the second object relatively to the first if the second is inside of possible
-     *         collision area.
+     * @param tick The current simulation step.
+     * @return The number of collisions found.
      */
-    private static Location findLocationRelatedTo(Creature one, Creature two) {
-        Location location = Location.NONE;
-        int locationCount = 0;
-
-        if(one.getY() + one.getHeight() >= two.getY() &&
-                one.getY() <= two.getY() + two.getHeight() &&
-                one.getX() + one.getWidth() >= two.getX() + two.getWidth()) {
-            location = Location.LEFTER;
-            locationCount++;
+    public static int dispatchCollisions(long tick) {
+        int count = findCollisions();
+
+        eventPool.releaseAll();
+        for(int i = 0; i < count; i++) {
+            Player player = collidingPlayers.get(i);
+            Platform platform = collidingPlatforms.get(i);
+
+            rewind(player, platform);
+            resolve(player.getIndex(), platform.getIndex(), contact);
+
+            CustomStorage.dispatchCollisionEvent(
+                    eventPool.obtain(player, platform, contact.getSide(), tick));
         }
 
-        if(one.getY() <= two.getY() + two.getHeight() &&
-                one.getY() + one.getHeight() >= two.getY() &&
-                one.getX() + one.getWidth() <= two.getX() + two.getWidth()) {
-            location = Location.RIGHTER;
-            locationCount++;
+        EntityStore.commitMotion();
+
+        return count;
+    }
+
+    /**
+     * If the player has passed through the platform rather than overlaps it,
+     * move the player back to the place of impact. Both creatures may have
+     * moved, so the player is placed where it was relatively to the platform
+     * at the time of impact, next to the platform's current bounds.
+     *
+     * @param player   The player of a colliding pair.
+     * @param platform The platform of the pair.
+     */
+    static void rewind(Player player, Platform platform) {
+        final int p = player.getIndex();
+        final int q = platform.getIndex();
+
+        if(resolve(p, q, contact).isTouching()) {
+            return;
         }
 
-        if(one.getX() + one.getWidth() >= two.getX() &&
-                one.getX() <= two.getX() + two.getWidth() &&
-                two.getY() <= one.getY()) {
-            location = Location.UPPER;
-            locationCount++;
+        double time = findImpactTime(p, q);
+        if(time >= 0) {
+            final int[] x = EntityStore.xs();
+            final int[] y = EntityStore.ys();
+            final int[] prevX = EntityStore.prevXs();
+            final int[] prevY = EntityStore.prevYs();
+
+            // the movement of the player relatively to the platform
+            int dx = (x[p] - prevX[p]) - (x[q] - prevX[q]);
+            int dy = (y[p] - prevY[p]) - (y[q] - prevY[q]);
+
+            player.updateCoord(
+                    x[q] + (prevX[p] - prevX[q]) + (int) Math.round(dx * time),
+                    y[q] + (prevY[p] - prevY[q]) + (int) Math.round(dy * time));
         }
+    }
+
+    /**
+     * Iterate each player registered in CustomStorage and then ask the
+     * CollisionGrid for platforms located in the cells around the player,
+     * so far-away platforms are never checked. Each candidate is checked by
+     * the single-pass resolver and every colliding pair is collected (there
+     * may be more than one collision at a time).
+     *
+     * @see com.game.View.CustomStorage
+     * @see com.game.Util.CollisionGrid
+     *
+     * @return The number of collisions found.
+     */
+    private static int findCollisions() {
+        collidingPlayers.clear();
+        collidingPlatforms.clear();
 
-        if(one.getX() + one.getWidth() >= two.getX() &&
-                one.getX() <= two.getX() + two.getWidth() &&
-                two.getY() >= one.getY()) {
-            location = Location.DOWNER;
-            locationCount++;
+        EntityList<Player> players = CustomStorage.getPlayers();
+
+        for(int i = 0; i < players.size(); i++) {
+            final Player player = players.get(i);
+
+            // only platforms around the area swept by the player are able to collide with it
+            final int p = player.getIndex();
+            final int fromX = Math.min(EntityStore.prevXs()[p], player.getX());
+            final int fromY = Math.min(EntityStore.prevYs()[p], player.getY());
+
+            candidates.clear();
+            CollisionGrid.findCandidates(player, fromX, fromY,
+                    Math.max(EntityStore.prevXs()[p], player.getX()) + player.getWidth() - fromX,
+                    Math.max(EntityStore.prevYs()[p], player.getY()) + player.getHeight() - fromY,
+                    candidates);
+
+            for(int k = 0; k < candidates.size(); k++) {
+                Creature candidate = candidates.get(k);
+
+                if(candidate instanceof Platform && collides(p, candidate.getIndex(), contact)) {
+                    collidingPlayers.add(player);
+                    collidingPlatforms.add((Platform) candidate);
+                }
+            }
         }
 
-        if(locationCount >= 2) {
-            location = Location.MULTI;
+        return collidingPlayers.size();
+    }
+
+    /**
+     * The narrow phase check of a player's and a platform's entities, reading
+     * the EntityStore's arrays only. The entities collide if their bounds
+     * overlap or touch while at least one of them has a movement's vector,
+     * or if they have passed through each other since the previous check.
+     *
+     * @see com.game.Model.EntityStore
+     *
+     * @param p       The index of the player's entity.
+     * @param q       The index of the platform's entity.
+     * @param contact The result to fill.
+     * @return true if the entities collide.
+     */
+    static boolean collides(int p, int q, Contact contact) {
+        final byte[] vector = EntityStore.vectors();
+
+        resolve(p, q, contact);
+        if(contact.isTouching()) {
+            return vector[p] != EntityStore.NONE || vector[q] != EntityStore.NONE;
         }
 
-        return location;
+        // the current bounds do not touch, but the creatures may have passed through each other
+        return findImpactTime(p, q) >= 0;
     }
 
     /**
-     * Location types. The MULTI type is used when more than one location was a touched and
-     * NONE if there is no location that was touched by some object relatively to other one.
+     * Compute the overlap, the penetration depth and the contact normal of
+     * two entities' current bounds in a single pass.
+     *
+     * @param one     The index of the first entity.
+     * @param two     The index of the second entity.
+     * @param contact The result to fill.
+     * @return The same result.
      */
-    private enum Location {
-        UPPER,
-        DOWNER,
-        LEFTER,
-        RIGHTER,
-        MULTI,
-        NONE;
+    public static Contact resolve(int one, int two, Contact contact) {
+        final int[] x = EntityStore.xs();
+        final int[] y = EntityStore.ys();
+        final int[] width = EntityStore.widths();
+        final int[] height = EntityStore.heights();
+
+        contact.set(x[one], y[one], width[one], height[one], x[two], y[two], width[two], height[two]);
+        return contact;
+    }
+
+    /**
+     * Sweep the bounds of both entities from their coordinates as of the
+     * previous check to the current ones and find the time the bounds have
+     * started to touch (the swept AABB test, done in the frame of the second
+     * entity, so both of them may move).
+     *
+     * @param one The index of the first entity.
+     * @param two The index of the second entity.
+     * @return The time of impact between 0 (the previous check) and 1 (now),
+     *         or -1 if the entities have not touched while moving.
+     */
+    private static double findImpactTime(int one, int two) {
+        final int[] x = EntityStore.xs();
+        final int[] y = EntityStore.ys();
+        final int[] prevX = EntityStore.prevXs();
+        final int[] prevY = EntityStore.prevYs();
+        final int[] width = EntityStore.widths();
+        final int[] height = EntityStore.heights();
+
+        // the movement of the first entity relatively to the second one
+        int dx = (x[one] - prevX[one]) - (x[two] - prevX[two]);
+        int dy = (y[one] - prevY[one]) - (y[two] - prevY[two]);
+
+        if(dx == 0 && dy == 0) {
+            return -1;
+        }
+
+        double enterX, exitX, enterY, exitY;
+
+        if(dx == 0) {
+            if(prevX[one] > prevX[two] + width[two] || prevX[one] + width[one] < prevX[two]) {
+                return -1;
+            }
+            enterX = Double.NEGATIVE_INFINITY;
+            exitX = Double.POSITIVE_INFINITY;
+        } else {
+            double near = (double) (prevX[two] - prevX[one] - width[one]) / dx;
+            double far  = (double) (prevX[two] + width[two] - prevX[one]) / dx;
+            enterX = Math.min(near, far);
+            exitX = Math.max(near, far);
+        }
+
+        if(dy == 0) {
+            if(prevY[one] > prevY[two] + height[two] || prevY[one] + height[one] < prevY[two]) {
+                return -1;
+            }
+            enterY = Double.NEGATIVE_INFINITY;
+            exitY = Double.POSITIVE_INFINITY;
+        } else {
+            double near = (double) (prevY[two] - prevY[one] - height[one]) / dy;
+            double far  = (double) (prevY[two] + height[two] - prevY[one]) / dy;
+            enterY = Math.min(near, far);
+            exitY = Math.max(near, far);
+        }
+
+        double enter = Math.max(enterX, enterY);
+        double exit = Math.min(exitX, exitY);
+
+        if(enter > exit || enter > 1 || exit < 0) {
+            return -1;
+        }
+
+        return Math.max(enter, 0);
     }
 }
@@ -0,0 +1,289 @@
+package com.game.Util;
+
+import com.game.Model.Creature;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * A uniform grid laid over the play field which is used as a broad phase
+ * for the CollisionCenter. The field is split into square cells and each
+ * registered creature is kept in every cell its bounds overlap. Instead of
+ * testing the player against every platform in game the CollisionCenter asks
+ * the grid for the creatures located in the cells around the player, so only
+ * those few candidates reach the narrow phase check.
+ *
+ * The grid is updated incrementally: a creature is moved between cells only
+ * when its cell range changes, what is done from Creature's updateCoord().
+ * Creatures outside of the field are clamped into the border cells.
+ * Cells are made with room for CELL_CAPACITY entries when the grid is laid,
+ * so creatures wandering into cells nobody has visited yet do not allocate;
+ * a cell grows only once it gets more entries than it has ever had.
+ *
+ * @see com.game.Util.CollisionCenter
+ * @see com.game.Model.Creature
+ */
+public abstract class CollisionGrid {
+    /**
+     * The default play field's width covered by the grid.
+     */
+    public static final int FIELD_WIDTH  = 700;
+
+    /**
+     * The default play field's height covered by the grid.
+     */
+    public static final int FIELD_HEIGHT = 680;
+
+    /**
+     * The side of a single square cell (pixels). It is bigger than the
+     * player's model, so a player overlaps four cells at most.
+     */
+    public static final int CELL_SIZE    = 100;
+
+    /**
+     * The number of entries each cell is made with room for.
+     */
+    public static final int CELL_CAPACITY = 16;
+
+    /**
+     * The number of grid's columns.
+     */
+    private static int columns = 0;
+
+    /**
+     * The number of grid's rows.
+     */
+    private static int rows    = 0;
+
+    /**
+     * Cells of the grid stored row by row, each one keeps entries of
+     * creatures which overlap it.
+     */
+    private static final List<List<Entry>> cells = new ArrayList<>();
+
+    /**
+     * Entries of all creatures registered in the grid.
+     */
+    private static final IdentityHashMap<Creature, Entry> entries = new IdentityHashMap<>();
+
+    /**
+     * A stamp of the current query, used to skip creatures which have
+     * already been collected from a neighbouring cell.
+     */
+    private static int queryStamp = 0;
+
+    static {
+        setField(FIELD_WIDTH, FIELD_HEIGHT);
+    }
+
+    /**
+     * Lay the grid over a play field of the given size, e.g. a level's
+     * one. Registered creatures are moved to the cells of the new grid.
+     * Nothing is done if the number of cells does not change.
+     *
+     * @param width  The field's width.
+     * @param height The field's height.
+     */
+    public static void setField(int width, int height) {
+        int newColumns = Math.max((width + CELL_SIZE - 1) / CELL_SIZE, 1);
+        int newRows    = Math.max((height + CELL_SIZE - 1) / CELL_SIZE, 1);
+
+        if(newColumns == columns && newRows == rows) {
+            return;
+        }
+
+        columns = newColumns;
+        rows = newRows;
+
+        cells.clear();
+        for(int i = 0; i < columns * rows; i++) {
+            cells.add(new ArrayList<>(CELL_CAPACITY));
+        }
+
+        for(Entry entry : entries.values()) {
+            entry.place();
+            link(entry);
+        }
+    }
+
+    /**
+     * Put the creature into the cells its current bounds overlap or move
+     * it between cells if it has left the previous ones. Nothing is done
+     * if the creature still lies in the same cells.
+     *
+     * @param creature A creature which bounds were updated.
+     */
+    public static void update(Creature creature) {
+        Entry entry = entries.get(creature);
+
+        if(entry == null) {
+            entry = new Entry(creature);
+            entries.put(creature, entry);
+        } else if(entry.covers(creature)) {
+            return;
+        } else {
+            unlink(entry);
+        }
+
+        entry.place();
+        link(entry);
+    }
+
+    /**
+     * Remove the creature from the grid.
+     *
+     * @param creature A creature which should no longer be found.
+     */
+    public static void remove(Creature creature) {
+        Entry entry = entries.remove(creature);
+
+        if(entry != null) {
+            unlink(entry);
+        }
+    }
+
+    /**
+     * Collect every creature from the cells which the given creature
+     * overlaps, including the neighbouring ones, so touching creatures
+     * lying on the border of two cells are found as well. The requester
+     * itself is not collected.
+     *
+     * @param creature The requester.
+     * @param out A list to add the candidates to.
+     * @return The same list with the candidates added.
+     */
+    public static List<Creature> findCandidates(Creature creature, List<Creature> out) {
+        return findCandidates(creature, creature.getX(), creature.getY(),
+                creature.getWidth(), creature.getHeight(), out);
+    }
+
+    /**
+     * Collect every creature from the cells which the given area overlaps,
+     * including the neighbouring ones, e.g. the area swept by a moving
+     * creature. The requester itself is not collected.
+     *
+     * @param creature The requester.
+     * @param x      The X-coordinate of the area's top left corner.
+     * @param y      The Y-coordinate of the area's top left corner.
+     * @param width  The area's width.
+     * @param height The area's height.
+     * @param out A list to add the candidates to.
+     * @return The same list with the candidates added.
+     */
+    public static List<Creature> findCandidates(Creature creature, int x, int y, int width, int height,
+                                                List<Creature> out) {
+        int stamp = ++queryStamp;
+
+        int minColumn = Math.max(column(x) - 1, 0);
+        int maxColumn = Math.min(column(x + width) + 1, columns - 1);
+        int minRow    = Math.max(row(y) - 1, 0);
+        int maxRow    = Math.min(row(y + height) + 1, rows - 1);
+
+        for(int row = minRow; row <= maxRow; row++) {
+            for(int col = minColumn; col <= maxColumn; col++) {
+                List<Entry> cell = cells.get(row * columns + col);
+
+                for(int i = 0; i < cell.size(); i++) {
+                    Entry entry = cell.get(i);
+
+                    if(entry.stamp != stamp && entry.creature != creature) {
+                        entry.stamp = stamp;
+                        out.add(entry.creature);
+                    }
+                }
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * Remove every creature from the grid (when the game is restarted/closed).
+     */
+    public static void clear() {
+        for(List<Entry> cell : cells) {
+            cell.clear();
+        }
+
+        entries.clear();
+    }
+
+    /**
+     * Add the entry to each cell of its range.
+     *
+     * @param entry An entry with the updated range.
+     */
+    private static void link(Entry entry) {
+        for(int row = entry.minRow; row <= entry.maxRow; row++) {
+            for(int col = entry.minColumn; col <= entry.maxColumn; col++) {
+                cells.get(row * columns + col).add(entry);
+            }
+        }
+    }
+
+    /**
+     * Remove the entry from each cell of its range.
+     *
+     * @param entry An entry with the previous range.
+     */
+    private static void unlink(Entry entry) {
+        for(int row = entry.minRow; row <= entry.maxRow; row++) {
+            for(int col = entry.minColumn; col <= entry.maxColumn; col++) {
+                cells.get(row * columns + col).remove(entry);
+            }
+        }
+    }
+
+    /**
+     * @param x An X-coordinate on the field.
+     * @return The column containing the coordinate (clamped to the grid).
+     */
+    private static int column(int x) {
+        return Math.min(Math.max(x / CELL_SIZE, 0), columns - 1);
+    }
+
+    /**
+     * @param y An Y-coordinate on the field.
+     * @return The row containing the coordinate (clamped to the grid).
+     */
+    private static int row(int y) {
+        return Math.min(Math.max(y / CELL_SIZE, 0), rows - 1);
+    }
+
+    /**
+     * A creature registered in the grid with the range of cells it occupies.
+     */
+    private static final class Entry {
+        private final Creature creature;
+
+        private int minColumn, maxColumn, minRow, maxRow;
+
+        private int stamp;
+
+        private Entry(Creature creature) {
+            this.creature = creature;
+        }
+
+        /**
+         * Take the range of cells the creature's current bounds overlap.
+         */
+        private void place() {
+            minColumn = column(creature.getX());
+            maxColumn = column(creature.getX() + creature.getWidth());
+            minRow    = row(creature.getY());
+            maxRow    = row(creature.getY() + creature.getHeight());
+        }
+
+        /**
+         * @param creature The creature of this entry.
+         * @return true if the creature's bounds still lie in the same cells.
+         */
+        private boolean covers(Creature creature) {
+            return minColumn == column(creature.getX()) &&
+                    maxColumn == column(creature.getX() + creature.getWidth()) &&
+                    minRow == row(creature.getY()) &&
+                    maxRow == row(creature.getY() + creature.getHeight());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.game.Util;
+
+import com.game.View.CollisionEvent;
+
+/**
+ * The result of the narrow phase check of two entities, filled by the
+ * CollisionCenter in a single pass over their bounds: whether the bounds
+ * touch, how deep they penetrate each other and the contact normal, i.e.
+ * the direction the first entity should be pushed to separate it from
+ * the second one. An object is reused for many checks, so it is valid
+ * until the next check only.
+ *
+ * @see com.game.Util.CollisionCenter
+ */
+public final class Contact {
+    /**
+     * Either the bounds overlap or touch each other.
+     */
+    private boolean touching;
+
+    /**
+     * Overlaps of the bounds along both axes (negative if the bounds are
+     * apart along the axis).
+     */
+    private int overlapX, overlapY;
+
+    /**
+     * The contact normal: -1, 0 or 1 along each axis.
+     */
+    private int normalX, normalY;
+
+    /**
+     * The side of the first entity touched by the second one.
+     */
+    private CollisionEvent.Side side;
+
+    /**
+     * Fill the result from the bounds of two entities.
+     */
+    void set(int x1, int y1, int w1, int h1, int x2, int y2, int w2, int h2) {
+        overlapX = Math.min(x1 + w1, x2 + w2) - Math.max(x1, x2);
+        overlapY = Math.min(y1 + h1, y2 + h2) - Math.max(y1, y2);
+        touching = overlapX >= 0 && overlapY >= 0;
+
+        // the least penetrated axis separates the entities
+        if(overlapX < overlapY) {
+            boolean left = x2 + w2 / 2 < x1 + w1 / 2;
+            side = left ? CollisionEvent.Side.LEFT : CollisionEvent.Side.RIGHT;
+            normalX = left ? 1 : -1;
+            normalY = 0;
+        } else {
+            boolean top = y2 + h2 / 2 < y1 + h1 / 2;
+            side = top ? CollisionEvent.Side.TOP : CollisionEvent.Side.BOTTOM;
+            normalX = 0;
+            normalY = top ? 1 : -1;
+        }
+    }
+
+    /**
+     * @return true if the bounds overlap or touch each other.
+     */
+    public boolean isTouching() {
+        return touching;
+    }
+
+    /**
+     * @return The penetration depth along the normal (0 if the bounds only
+     *         touch, negative if they are apart).
+     */
+    public int getDepth() {
+        return Math.min(overlapX, overlapY);
+    }
+
+    public int getOverlapX() {
+        return overlapX;
+    }
+
+    public int getOverlapY() {
+        return overlapY;
+    }
+
+    public int getNormalX() {
+        return normalX;
+    }
+
+    public int getNormalY() {
+        return normalY;
+    }
+
+    /**
+     * @return The side of the first entity touched by the second one.
+     */
+    public CollisionEvent.Side getSide() {
+        return side;
+    }
+}
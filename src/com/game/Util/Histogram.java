@@ -0,0 +1,138 @@
+package com.game.Util;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of latencies with logarithmic buckets (in the manner of
+ * HdrHistogram): each power of two is split into SUB_BUCKETS linear
+ * buckets, so any recorded value is kept with a relative error below
+ * 1/SUB_BUCKETS while the whole range of long values takes a fixed
+ * array. Recording a value is a few arithmetic operations and allocates
+ * nothing.
+ *
+ * A histogram is not thread-safe: it should be recorded and read on the
+ * same thread.
+ *
+ * @see com.game.Util.MetricsCenter
+ */
+public final class Histogram {
+    /**
+     * log2 of the number of buckets per power of two.
+     */
+    private static final int SUB_BITS = 4;
+
+    /**
+     * The number of buckets per power of two.
+     */
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    /**
+     * Counts of values in buckets.
+     */
+    private final long[] counts = new long[64 * SUB_BUCKETS];
+
+    private long count = 0;
+    private long total = 0;
+    private long max   = 0;
+
+    /**
+     * Count a value.
+     *
+     * @param value A non-negative value, e.g. a duration (nanoseconds).
+     */
+    public void record(long value) {
+        if(value < 0) {
+            value = 0;
+        }
+
+        counts[index(value)]++;
+        count++;
+        total += value;
+        max = Math.max(max, value);
+    }
+
+    /**
+     * @return The number of values counted.
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return The largest value counted (0 if there are none).
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * @return The mean of values counted (0 if there are none).
+     */
+    public long getMean() {
+        return count > 0 ? total / count : 0;
+    }
+
+    /**
+     * @param percentile A percentile (0 - 100).
+     * @return The value the given percent of values are not bigger than
+     *         (the upper bound of its bucket), 0 if there are no values.
+     */
+    public long getPercentile(double percentile) {
+        if(count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(percentile, 100) / 100));
+        long seen = 0;
+
+        for(int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+
+            if(seen >= rank) {
+                return Math.min(upperBound(i), max);
+            }
+        }
+
+        return max;
+    }
+
+    /**
+     * Forget all values.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    /**
+     * @param value A non-negative value.
+     * @return The index of the value's bucket.
+     */
+    private static int index(long value) {
+        if(value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @param index A bucket's index.
+     * @return The largest value of the bucket.
+     */
+    private static long upperBound(int index) {
+        if(index < SUB_BUCKETS) {
+            return index;
+        }
+
+        int shift = index / SUB_BUCKETS - 1;
+        long lower = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+
+        return lower + (1L << shift) - 1;
+    }
+}
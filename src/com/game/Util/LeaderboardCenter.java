@@ -0,0 +1,355 @@
+package com.game.Util;
+
+import com.game.Util.StatisticsCenter.Session;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * The helper class which keeps the table of the best SIZE sessions in a
+ * small file of a fixed size mapped into memory, so the table is read
+ * without parsing any file and is shared by all games using the file.
+ *
+ * The file holds two pages, each a full copy of the table with a sequence
+ * number and a checksum. An update writes the page with the older
+ * sequence number, so a crash in the middle of an update leaves a page
+ * with a wrong checksum and the other page, the previous table, intact.
+ * Readers take the valid page with the newest sequence number and do not
+ * lock anything: a page changed while it was read is read again (a
+ * sequence lock). Updates are done by a single background thread, and
+ * the file is locked while it is updated, so games sharing it do not
+ * write at once.
+ *
+ * The file is "~/.snake/leaderboard.bin" unless -Dsnake.leaderboard=file
+ * is set.
+ *
+ * @see com.game.Util.StatisticsCenter
+ */
+public abstract class LeaderboardCenter {
+    /**
+     * The system property naming the leaderboard file.
+     */
+    public static final String FILE_PROPERTY = "snake.leaderboard";
+
+    /**
+     * The number of sessions in the table.
+     */
+    public static final int SIZE = 10;
+
+    /**
+     * The first bytes of the file.
+     */
+    private static final int MAGIC = 0x534E4B4C;
+
+    /**
+     * The version of the format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The size of the file's header.
+     */
+    private static final int HEADER_SIZE = 8;
+
+    /**
+     * The size of a page: the sequence number (long), the number of
+     * sessions (int), the sessions and the checksum (int).
+     */
+    private static final int PAGE_SIZE = 8 + 4 + SIZE * Session.SIZE + 4;
+
+    /**
+     * The size of the file.
+     */
+    private static final int FILE_SIZE = HEADER_SIZE + 2 * PAGE_SIZE;
+
+    /**
+     * The number of times a page changed while read is read again before
+     * the other page is taken.
+     */
+    private static final int RETRIES = 16;
+
+    /**
+     * The leaderboard file.
+     */
+    private static final Path file = findFile();
+
+    /**
+     * The thread opening and updating the file (the single writer).
+     */
+    private static final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "leaderboard");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * The file's channel (worker only).
+     */
+    private static FileChannel channel;
+
+    /**
+     * The mapped file, null until it is opened.
+     */
+    private static volatile MappedByteBuffer buffer;
+
+    /**
+     * The number of updates made by this game: written after an update
+     * and read before and after a page is read, which makes the update
+     * visible to readers.
+     */
+    private static volatile int updates = 0;
+
+    /**
+     * Map the file, creating it if needed. Should be invoked before the
+     * table is shown, e.g. when the menu is opened; does nothing if the
+     * file is mapped already.
+     *
+     * @return A future completed once the file is mapped.
+     */
+    public static CompletableFuture<Void> open() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                map();
+            } catch(IOException ex) {
+                System.err.println("Unable to open the leaderboard: " + ex.getMessage());
+            }
+        }, worker);
+    }
+
+    /**
+     * Add the finished session to the table if it is one of the best.
+     *
+     * @param session A finished session.
+     * @return A future completed once the table is updated.
+     */
+    public static CompletableFuture<Void> submit(Session session) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                map();
+                update(session);
+            } catch(IOException ex) {
+                System.err.println("Unable to update the leaderboard: " + ex.getMessage());
+            }
+        }, worker);
+    }
+
+    /**
+     * Read the table without locking. Takes a few microseconds and may be
+     * invoked on any thread.
+     *
+     * @return The best sessions, the best first (empty if the file is not
+     *         mapped yet).
+     */
+    public static List<Session> getTop() {
+        MappedByteBuffer map = buffer;
+        if(map == null) {
+            return Collections.emptyList();
+        }
+
+        List<Session> top = new ArrayList<>(SIZE);
+        readTable(map, top);
+
+        return top;
+    }
+
+    /**
+     * Read the newest valid page into the list.
+     *
+     * @param map The mapped file.
+     * @param out The list to fill.
+     * @return The sequence number of the page read (0 if neither page is
+     *         valid, e.g. in a new file).
+     */
+    private static long readTable(ByteBuffer map, List<Session> out) {
+        long first = map.getLong(HEADER_SIZE);
+        long second = map.getLong(HEADER_SIZE + PAGE_SIZE);
+
+        // newest first, then the other one if the newest is broken
+        int newest = first >= second ? 0 : 1;
+        for(int i = 0; i < 2; i++) {
+            int page = i == 0 ? newest : 1 - newest;
+
+            long sequence = readPage(map, HEADER_SIZE + page * PAGE_SIZE, out);
+            if(sequence > 0) {
+                return sequence;
+            }
+        }
+
+        out.clear();
+        return 0;
+    }
+
+    /**
+     * Read a page, again if it is changed while read.
+     *
+     * @param map    The mapped file.
+     * @param offset The page's offset.
+     * @param out    The list to fill.
+     * @return The page's sequence number, 0 if the page is not valid.
+     */
+    private static long readPage(ByteBuffer map, int offset, List<Session> out) {
+        byte[] page = new byte[PAGE_SIZE];
+
+        for(int attempt = 0; attempt < RETRIES; attempt++) {
+            int before = updates;
+
+            ByteBuffer view = map.duplicate();
+            view.position(offset);
+            view.get(page);
+
+            long sequence = ByteBuffer.wrap(page).getLong();
+            if(updates != before || sequence != map.getLong(offset)) {
+                continue; // written in the meantime
+            }
+
+            return parsePage(page, out);
+        }
+
+        return 0;
+    }
+
+    /**
+     * @param page A copy of a page.
+     * @param out  The list to fill with the page's sessions.
+     * @return The page's sequence number, 0 if its checksum is wrong.
+     */
+    private static long parsePage(byte[] page, List<Session> out) {
+        CRC32 crc = new CRC32();
+        crc.update(page, 0, PAGE_SIZE - 4);
+
+        ByteBuffer data = ByteBuffer.wrap(page);
+        long sequence = data.getLong();
+        int count = data.getInt();
+
+        if(sequence <= 0 || count < 0 || count > SIZE || (int) crc.getValue() != data.getInt(PAGE_SIZE - 4)) {
+            return 0;
+        }
+
+        out.clear();
+        for(int i = 0; i < count; i++) {
+            out.add(Session.read(data));
+        }
+
+        return sequence;
+    }
+
+    /**
+     * Insert the session into the table and write the table to the older
+     * page while the file is locked (worker only).
+     */
+    private static void update(Session session) throws IOException {
+        FileLock lock = channel.lock();
+
+        try {
+            MappedByteBuffer map = buffer;
+
+            List<Session> top = new ArrayList<>(SIZE + 1);
+            long sequence = readTable(map, top);
+
+            int position = top.size();
+            while(position > 0 && Session.BY_SCORE.compare(session, top.get(position - 1)) > 0) {
+                position--;
+            }
+
+            if(position >= SIZE) {
+                return; // not one of the best
+            }
+
+            top.add(position, session);
+            if(top.size() > SIZE) {
+                top.remove(SIZE);
+            }
+
+            ByteBuffer page = ByteBuffer.allocate(PAGE_SIZE);
+            page.putLong(sequence + 1).putInt(top.size());
+            top.forEach(s -> s.write(page));
+
+            CRC32 crc = new CRC32();
+            crc.update(page.array(), 0, PAGE_SIZE - 4);
+            page.putInt(PAGE_SIZE - 4, (int) crc.getValue());
+
+            // overwrite the page which is not the current one
+            int offset = HEADER_SIZE + (map.getLong(HEADER_SIZE) == sequence && sequence > 0 ? PAGE_SIZE : 0);
+            ByteBuffer view = map.duplicate();
+            view.position(offset);
+            view.put(page.array());
+
+            map.force();
+            updates++;
+        } finally {
+            lock.release();
+        }
+    }
+
+    /**
+     * Open and map the file if it is not mapped yet (worker only).
+     */
+    private static void map() throws IOException {
+        if(buffer != null) {
+            return;
+        }
+
+        Path parent = file.toAbsolutePath().getParent();
+        if(parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            MappedByteBuffer map;
+
+            FileLock lock = opened.lock();
+
+            try {
+                long size = opened.size();
+
+                if(size == 0) {
+                    map = opened.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+                    map.putInt(0, MAGIC).putInt(4, VERSION);
+                    map.force();
+                } else if(size != FILE_SIZE) {
+                    throw new IOException("Not a leaderboard file: " + file);
+                } else {
+                    map = opened.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+                }
+            } finally {
+                lock.release();
+            }
+
+            if(map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+                throw new IOException("Not a leaderboard file: " + file);
+            }
+
+            channel = opened;
+            buffer = map;
+        } catch(IOException ex) {
+            opened.close();
+            throw ex;
+        }
+    }
+
+    private static Path findFile() {
+        String name = System.getProperty(FILE_PROPERTY);
+        if(name != null && !name.isEmpty()) {
+            return Paths.get(name);
+        }
+
+        return Paths.get(System.getProperty("user.home"), ".snake", "leaderboard.bin");
+    }
+}
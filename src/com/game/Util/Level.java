@@ -0,0 +1,382 @@
+package com.game.Util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The parsed form of a level: the world's size, the ranges platforms draw
+ * their scopes of movement from, the player's place and the platforms with
+ * their sprites. Platforms are kept in primitive arrays and sprites' names
+ * are stored once in a table, so even a level of a hundred thousand
+ * platforms takes a few megabytes and is cheap to cache.
+ *
+ * A level file is a text file read line by line, each line is a command
+ * followed by its arguments, "#" starts a comment:
+ *
+ *     snake-level 1
+ *     world 700 680           # the field's width and height
+ *     range 100 650           # scopes in 650x650 windows: lows < 100, highs < 650
+ *     player 50 50            # the player's place
+ *     platform 2.png 150 150  # a platform's sprite and place
+ *
+ * All commands but "snake-level" and "platform" are optional and take
+ * the values above by default. The world should be set before the other
+ * commands, so places are checked against the field as they are read:
+ * the player and platforms should be placed within the field. The field
+ * is divided into square windows as big as the high range, a platform
+ * draws its scopes within the window of its place, so the window should
+ * fit the field on each axis and lows should not be beyond highs. The
+ * file is parsed as it is read, without building any intermediate tree.
+ *
+ * @see com.game.Util.LevelCenter
+ * @see com.game.Handler.World
+ */
+public final class Level {
+    /**
+     * The first word of a level file.
+     */
+    private static final String MAGIC = "snake-level";
+
+    /**
+     * The version of the format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The maximum size of a field, so coordinates fit the InputLog.
+     *
+     * @see com.game.Handler.InputLog
+     */
+    public static final int MAX_SIZE = Short.MAX_VALUE;
+
+    /**
+     * The maximum number of arguments a command takes.
+     */
+    private static final int MAX_TOKENS = 4;
+
+    // the world
+
+    private int width     = 700;
+    private int height    = 680;
+    private int lowRange  = 100;
+    private int highRange = 650;
+    private int playerX   = 50;
+    private int playerY   = 50;
+
+    // platforms
+
+    /**
+     * Names of sprites, each one is stored once.
+     */
+    private String[] sprites = new String[4];
+    private int spriteCount = 0;
+
+    private short[] platformSprites = new short[16];
+    private int[]   platformXs      = new int[16];
+    private int[]   platformYs      = new int[16];
+    private int     platformCount   = 0;
+
+    private Level() { }
+
+    /**
+     * Parse a level as it is read.
+     *
+     * @param in A reader of a level file.
+     * @return The parsed level.
+     * @throws java.io.IOException if the file can't be read or is not a
+     *         valid level file.
+     */
+    public static Level read(Reader in) throws IOException {
+        Level level = new Level();
+        Map<String, Short> spriteIndices = new HashMap<>();
+
+        BufferedReader reader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+        String[] tokens = new String[MAX_TOKENS + 1];
+        boolean started = false;
+        boolean placed = false; // the world can't be changed anymore
+        boolean playerSet = false, rangeSet = false;
+        int number = 0;
+
+        for(String line = reader.readLine(); line != null; line = reader.readLine()) {
+            number++;
+
+            int count = tokenize(line, tokens);
+            if(count == 0) {
+                continue;
+            }
+
+            try {
+                String command = tokens[0];
+
+                if(!started) {
+                    if(!command.equals(MAGIC) || count != 2 || Integer.parseInt(tokens[1]) != VERSION) {
+                        throw new IOException("Not a level file");
+                    }
+                    started = true;
+                    continue;
+                }
+
+                if(command.equals("world")) {
+                    if(placed) {
+                        throw new IOException("The world should be set before the player, range and platforms");
+                    }
+                } else {
+                    placed = true;
+                }
+
+                switch(command) {
+                    case "platform":
+                        expect(count, 4);
+                        int x = Integer.parseInt(tokens[2]);
+                        int y = Integer.parseInt(tokens[3]);
+                        level.checkPlace(x, y);
+
+                        Short sprite = spriteIndices.get(tokens[1]);
+                        if(sprite == null) {
+                            sprite = level.addSprite(tokens[1]);
+                            spriteIndices.put(tokens[1], sprite);
+                        }
+                        level.addPlatform(sprite, x, y);
+                        break;
+                    case "world":
+                        expect(count, 3);
+                        level.width = size(tokens[1]);
+                        level.height = size(tokens[2]);
+                        break;
+                    case "range":
+                        expect(count, 3);
+                        level.lowRange = positive(tokens[1]);
+                        level.highRange = positive(tokens[2]);
+                        level.checkRange();
+                        rangeSet = true;
+                        break;
+                    case "player":
+                        expect(count, 3);
+                        level.playerX = Integer.parseInt(tokens[1]);
+                        level.playerY = Integer.parseInt(tokens[2]);
+                        level.checkPlace(level.playerX, level.playerY);
+                        playerSet = true;
+                        break;
+                    default:
+                        throw new IOException("Unknown command: " + command);
+                }
+            } catch(IOException | NumberFormatException ex) {
+                throw new IOException("Line " + number + ": " + ex.getMessage(), ex);
+            }
+        }
+
+        if(!started) {
+            throw new IOException("Not a level file");
+        }
+
+        // the defaults should fit the field as well
+        try {
+            if(!playerSet) {
+                level.checkPlace(level.playerX, level.playerY);
+            }
+            if(!rangeSet) {
+                level.checkRange();
+            }
+        } catch(IOException ex) {
+            throw new IOException("Defaults: " + ex.getMessage() + ", set them for this world", ex);
+        }
+
+        return level;
+    }
+
+    /**
+     * Split the line into whitespace separated words, skipping a comment.
+     *
+     * @param line   A line of a level file.
+     * @param tokens The array to put the words to.
+     * @return The number of words (more than MAX_TOKENS + 1 are not kept,
+     *         but counted).
+     */
+    private static int tokenize(String line, String[] tokens) {
+        int count = 0;
+        int length = line.length();
+        int i = 0;
+
+        while(i < length) {
+            char c = line.charAt(i);
+
+            if(c == '#') {
+                break;
+            } else if(Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            while(i < length && !Character.isWhitespace(line.charAt(i)) && line.charAt(i) != '#') {
+                i++;
+            }
+
+            if(count < tokens.length) {
+                tokens[count] = line.substring(start, i);
+            }
+            count++;
+        }
+
+        return count;
+    }
+
+    private static void expect(int count, int expected) throws IOException {
+        if(count != expected) {
+            throw new IOException("Expected " + (expected - 1) + " arguments");
+        }
+    }
+
+    private static int size(String token) throws IOException {
+        int value = positive(token);
+        if(value > MAX_SIZE) {
+            throw new IOException("The field is bigger than " + MAX_SIZE + ": " + value);
+        }
+
+        return value;
+    }
+
+    private static int positive(String token) throws IOException {
+        int value = Integer.parseInt(token);
+        if(value <= 0) {
+            throw new IOException("Not a positive value: " + value);
+        }
+
+        return value;
+    }
+
+    /**
+     * @param x An X-coordinate of a place.
+     * @param y An Y-coordinate of a place.
+     * @throws java.io.IOException if the place is outside of the field.
+     */
+    private void checkPlace(int x, int y) throws IOException {
+        if(x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IOException("The place " + x + " " + y + " is outside of the " +
+                    width + "x" + height + " field");
+        }
+    }
+
+    /**
+     * @throws java.io.IOException if the window of scopes does not fit
+     *         the field on either axis or lows are beyond highs.
+     */
+    private void checkRange() throws IOException {
+        if(highRange > width) {
+            throw new IOException("The range's window " + highRange + " is wider than the field " + width);
+        }
+        if(highRange > height) {
+            throw new IOException("The range's window " + highRange + " is taller than the field " + height);
+        }
+        if(lowRange > highRange) {
+            throw new IOException("The range's lows " + lowRange + " are beyond its highs " + highRange);
+        }
+    }
+
+    private short addSprite(String name) throws IOException {
+        if(spriteCount > Short.MAX_VALUE) {
+            throw new IOException("Too many sprites");
+        }
+
+        if(spriteCount == sprites.length) {
+            sprites = Arrays.copyOf(sprites, spriteCount * 2);
+        }
+
+        sprites[spriteCount] = name;
+        return (short) spriteCount++;
+    }
+
+    private void addPlatform(short sprite, int x, int y) {
+        if(platformCount == platformXs.length) {
+            int capacity = platformCount * 2;
+            platformSprites = Arrays.copyOf(platformSprites, capacity);
+            platformXs = Arrays.copyOf(platformXs, capacity);
+            platformYs = Arrays.copyOf(platformYs, capacity);
+        }
+
+        platformSprites[platformCount] = sprite;
+        platformXs[platformCount] = x;
+        platformYs[platformCount] = y;
+        platformCount++;
+    }
+
+    /**
+     * @return The field's width.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return The field's height.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return The bound of lows of platforms' scopes within their windows
+     *         (exclusive).
+     */
+    public int getLowRange() {
+        return lowRange;
+    }
+
+    /**
+     * @return The bound of highs of platforms' scopes within their windows
+     *         (exclusive), also the initial high and the windows' size.
+     */
+    public int getHighRange() {
+        return highRange;
+    }
+
+    public int getPlayerX() {
+        return playerX;
+    }
+
+    public int getPlayerY() {
+        return playerY;
+    }
+
+    /**
+     * @return The number of distinct sprites.
+     */
+    public int getSpriteCount() {
+        return spriteCount;
+    }
+
+    /**
+     * @param sprite A sprite's number.
+     * @return The sprite's image name.
+     */
+    public String getSprite(int sprite) {
+        return sprites[sprite];
+    }
+
+    /**
+     * @return The number of platforms.
+     */
+    public int getPlatformCount() {
+        return platformCount;
+    }
+
+    /**
+     * @param i A platform's number.
+     * @return The number of the platform's sprite.
+     */
+    public int getPlatformSprite(int i) {
+        return platformSprites[i];
+    }
+
+    public int getPlatformX(int i) {
+        return platformXs[i];
+    }
+
+    public int getPlatformY(int i) {
+        return platformYs[i];
+    }
+}
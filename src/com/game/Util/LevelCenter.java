@@ -0,0 +1,179 @@
+package com.game.Util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * The helper class which loads levels. Levels are listed in the level
+ * pack's index, "levels/index.txt" among the game's resources, each line
+ * of which names a level and its file:
+ *
+ *     default default.lvl
+ *
+ * Only the index is read up front. A level is parsed the first time it
+ * is asked for (or preloaded in background, e.g. while the main menu is
+ * shown) and its parsed form is kept, so starting a new game does not
+ * read the file again. A name which is not in the index is taken as a
+ * path to a level file.
+ *
+ * The level of the game is "default" unless -Dsnake.level=name is set.
+ *
+ * @see com.game.Util.Level
+ * @see com.game.Handler.World
+ */
+public abstract class LevelCenter {
+    /**
+     * The system property choosing the game's level.
+     */
+    public static final String LEVEL_PROPERTY = "snake.level";
+
+    /**
+     * The name of the default level.
+     */
+    public static final String DEFAULT = "default";
+
+    /**
+     * The folder of the level pack among resources.
+     */
+    private static final String FOLDER = "levels/";
+
+    /**
+     * The level pack's index.
+     */
+    private static final String INDEX = FOLDER + "index.txt";
+
+    /**
+     * Files of levels by their names, read once.
+     */
+    private static volatile Map<String, String> index;
+
+    /**
+     * Parsed (or being parsed) levels by their names.
+     */
+    private static final AssetCache<Level> levels = new AssetCache<>(LevelCenter::load);
+
+    /**
+     * @return The name of the game's level set by the system property or
+     *         the default one.
+     */
+    public static String getCurrentName() {
+        String name = System.getProperty(LEVEL_PROPERTY);
+        return name != null && !name.trim().isEmpty() ? name.trim() : DEFAULT;
+    }
+
+    /**
+     * @return Names of levels of the pack in the order of the index.
+     */
+    public static List<String> getNames() {
+        return new ArrayList<>(getIndex().keySet());
+    }
+
+    /**
+     * Get the parsed level, parsing it if it is necessary. If the level is
+     * being preloaded, wait until it is ready.
+     *
+     * @param name A level's name in the index or a path to a level file.
+     * @return The parsed level.
+     * @throws java.io.UncheckedIOException if the level can't be loaded.
+     */
+    public static Level getLevel(String name) {
+        return levels.get(name);
+    }
+
+    /**
+     * Start parsing the levels in background unless they are already
+     * parsed or being parsed.
+     *
+     * @param names Levels' names.
+     */
+    public static void preload(String... names) {
+        levels.preload(names);
+    }
+
+    /**
+     * Open and parse the level.
+     *
+     * @param name A level's name in the index or a path to a level file.
+     * @return The parsed level.
+     */
+    private static Level load(String name) {
+        String file = getIndex().get(name);
+
+        try(Reader in = file != null ? open(FOLDER + file) : Files.newBufferedReader(Paths.get(name))) {
+            return Level.read(in);
+        } catch(IOException ex) {
+            throw new UncheckedIOException(new IOException("Can't load the level " + name + ": " + ex.getMessage(), ex));
+        }
+    }
+
+    /**
+     * @return The level pack's index, read on the first call.
+     */
+    private static Map<String, String> getIndex() {
+        Map<String, String> result = index;
+
+        if(result == null) {
+            synchronized(LevelCenter.class) {
+                result = index;
+
+                if(result == null) {
+                    try {
+                        result = readIndex();
+                    } catch(IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                    index = result;
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private static Map<String, String> readIndex() throws IOException {
+        Map<String, String> result = new LinkedHashMap<>();
+
+        try(BufferedReader in = open(INDEX)) {
+            int number = 0;
+
+            for(String line = in.readLine(); line != null; line = in.readLine()) {
+                number++;
+
+                int comment = line.indexOf('#');
+                String[] words = (comment >= 0 ? line.substring(0, comment) : line).trim().split("\\s+");
+
+                if(words.length == 1 && words[0].isEmpty()) {
+                    continue;
+                } else if(words.length != 2) {
+                    throw new IOException(INDEX + ", line " + number + ": expected a name and a file");
+                }
+
+                result.put(words[0], words[1]);
+            }
+        }
+
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @param name A resource's name.
+     * @return A reader of the resource.
+     * @throws java.io.IOException if it is not found.
+     */
+    private static BufferedReader open(String name) throws IOException {
+        URL url = AssetCenter.find(name);
+        if(url == null) {
+            throw new IOException("Not found: " + name);
+        }
+
+        return new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8));
+    }
+}
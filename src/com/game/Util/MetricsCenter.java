@@ -0,0 +1,361 @@
+package com.game.Util;
+
+import com.game.Model.EntityStore;
+import com.game.View.CustomStorage;
+
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The helper class which collects the game's metrics: latency histograms
+ * of simulation steps, collision checks and rendering, frames shown and
+ * dropped, steps dropped and the number of entities. Values are recorded
+ * by the game loop's thread and the canvases on the event dispatch thread
+ * (recording is synchronized, which costs little at a few values per
+ * step), and once a second they are published as a Snapshot and the
+ * histograms are reset, so each snapshot describes the last second.
+ *
+ * A snapshot is shown by the MetricsOverlay, exposed as the JMX MBean
+ * "com.game:type=Metrics" and, if -Dsnake.metrics=file is set, appended
+ * to the file as a CSV row or, for a ".json" file, as a JSON line. Files
+ * are written on a background thread.
+ *
+ * @see com.game.Util.Histogram
+ * @see com.game.Util.MetricsMXBean
+ * @see com.game.View.MetricsOverlay
+ * @see com.game.Handler.GameLoop
+ */
+public abstract class MetricsCenter {
+    /**
+     * The system property naming the file metrics are exported to.
+     */
+    public static final String EXPORT_PROPERTY = "snake.metrics";
+
+    /**
+     * The period of publishing snapshots (nanoseconds).
+     */
+    private static final long PUBLISH_PERIOD = 1_000_000_000L;
+
+    /**
+     * The columns of a CSV file.
+     */
+    private static final String CSV_HEADER = "time,fps,dropped_frames,dropped_ticks,entities,players,platforms," +
+            "tick_p50_us,tick_p99_us,tick_max_us,collision_p50_us,collision_p99_us,collision_max_us," +
+            "render_p50_us,render_p99_us,render_max_us";
+
+    // histograms of the current period
+
+    private static final Histogram tickTimes      = new Histogram();
+    private static final Histogram collisionTimes = new Histogram();
+    private static final Histogram renderTimes    = new Histogram();
+
+    // counters of the current period
+
+    private static int  frames        = 0;
+    private static long droppedFrames = 0;
+    private static long droppedTicks  = 0;
+
+    /**
+     * The start of the current period (nanoseconds), 0 if not started.
+     */
+    private static long periodStart = 0;
+
+    /**
+     * The last published snapshot.
+     */
+    private static volatile Snapshot snapshot = new Snapshot();
+
+    /**
+     * Either the overlay should be shown.
+     */
+    private static volatile boolean overlayVisible = false;
+
+    /**
+     * The file snapshots are appended to (null if they are not exported).
+     */
+    private static final Path exportFile = findExportFile();
+
+    /**
+     * The thread writing the file.
+     */
+    private static ExecutorService exporter;
+
+    // recording
+
+    public static synchronized void tickTime(long nanos) {
+        tickTimes.record(nanos);
+    }
+
+    public static synchronized void collisionTime(long nanos) {
+        collisionTimes.record(nanos);
+    }
+
+    public static synchronized void renderTime(long nanos) {
+        renderTimes.record(nanos);
+    }
+
+    public static synchronized void frameShown() {
+        frames++;
+    }
+
+    public static synchronized void framesDropped(long count) {
+        droppedFrames += count;
+    }
+
+    public static synchronized void ticksDropped(long count) {
+        droppedTicks += count;
+    }
+
+    /**
+     * Publish a snapshot if the period is over. Should be invoked by the
+     * game loop on each wake up.
+     *
+     * @param now The current time (System.nanoTime()).
+     */
+    public static synchronized void update(long now) {
+        if(periodStart == 0) {
+            periodStart = now;
+            registerMBean(); // the first update comes from a game on the screen
+        } else if(now - periodStart >= PUBLISH_PERIOD) {
+            publish(now);
+        }
+    }
+
+    /**
+     * @return The last published snapshot.
+     */
+    public static Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * @return true if the overlay should be shown.
+     */
+    public static boolean isOverlayVisible() {
+        return overlayVisible;
+    }
+
+    /**
+     * Show or hide the overlay.
+     *
+     * @param state true - show, false - hide.
+     */
+    public static void setOverlayVisible(boolean state) {
+        overlayVisible = state;
+    }
+
+    /**
+     * Make a snapshot of the period and start a new one.
+     *
+     * @param now The current time (nanoseconds).
+     */
+    private static void publish(long now) {
+        double seconds = (now - periodStart) / 1e9;
+
+        snapshot = new Snapshot((int) Math.round(frames / seconds), droppedFrames, droppedTicks,
+                EntityStore.size(), CustomStorage.getPlayers().size(), CustomStorage.getPlatforms().size(),
+                new Latency(tickTimes), new Latency(collisionTimes), new Latency(renderTimes));
+
+        tickTimes.reset();
+        collisionTimes.reset();
+        renderTimes.reset();
+        frames = 0;
+        droppedFrames = 0;
+        droppedTicks = 0;
+        periodStart = now;
+
+        if(exportFile != null) {
+            export(snapshot);
+        }
+    }
+
+    /**
+     * Append the snapshot to the export file on the background thread.
+     *
+     * @param snapshot A published snapshot.
+     */
+    private static void export(Snapshot snapshot) {
+        if(exporter == null) {
+            exporter = Executors.newSingleThreadExecutor(task -> {
+                Thread thread = new Thread(task, "metrics-export");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        final boolean json = exportFile.getFileName().toString().endsWith(".json");
+        final long time = System.currentTimeMillis();
+
+        exporter.execute(() -> {
+            try {
+                boolean header = !json && !Files.exists(exportFile);
+
+                try(Writer out = Files.newBufferedWriter(exportFile, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    if(header) {
+                        out.write(CSV_HEADER + "\n");
+                    }
+                    out.write((json ? snapshot.toJson(time) : snapshot.toCsv(time)) + "\n");
+                }
+            } catch(IOException ex) {
+                System.err.println("Unable to export metrics: " + ex.getMessage());
+            }
+        });
+    }
+
+    private static Path findExportFile() {
+        String file = System.getProperty(EXPORT_PROPERTY);
+        return file != null && !file.isEmpty() ? Paths.get(file) : null;
+    }
+
+    private static void registerMBean() {
+        try {
+            MetricsMXBean bean = MetricsCenter::getSnapshot;
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new StandardMBean(bean, MetricsMXBean.class, true), new ObjectName("com.game:type=Metrics"));
+        } catch(Exception ex) {
+            // JMX is optional, e.g. the MBean is already registered
+        }
+    }
+
+    /**
+     * Latencies of a period (microseconds).
+     */
+    public static final class Latency {
+        private final long count;
+        private final long p50;
+        private final long p99;
+        private final long max;
+
+        private Latency() {
+            count = p50 = p99 = max = 0;
+        }
+
+        private Latency(Histogram histogram) {
+            count = histogram.getCount();
+            p50 = histogram.getPercentile(50) / 1000;
+            p99 = histogram.getPercentile(99) / 1000;
+            max = histogram.getMax() / 1000;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getP50() {
+            return p50;
+        }
+
+        public long getP99() {
+            return p99;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return "p50 " + p50 + " us, p99 " + p99 + " us, max " + max + " us";
+        }
+    }
+
+    /**
+     * The metrics of a period.
+     */
+    public static final class Snapshot {
+        private final int  framesPerSecond;
+        private final long droppedFrames;
+        private final long droppedTicks;
+        private final int  entities;
+        private final int  players;
+        private final int  platforms;
+        private final Latency tick;
+        private final Latency collision;
+        private final Latency render;
+
+        private Snapshot() {
+            this(0, 0, 0, 0, 0, 0, new Latency(), new Latency(), new Latency());
+        }
+
+        private Snapshot(int framesPerSecond, long droppedFrames, long droppedTicks,
+                         int entities, int players, int platforms,
+                         Latency tick, Latency collision, Latency render) {
+            this.framesPerSecond = framesPerSecond;
+            this.droppedFrames = droppedFrames;
+            this.droppedTicks = droppedTicks;
+            this.entities = entities;
+            this.players = players;
+            this.platforms = platforms;
+            this.tick = tick;
+            this.collision = collision;
+            this.render = render;
+        }
+
+        public int getFramesPerSecond() {
+            return framesPerSecond;
+        }
+
+        public long getDroppedFrames() {
+            return droppedFrames;
+        }
+
+        public long getDroppedTicks() {
+            return droppedTicks;
+        }
+
+        public int getEntities() {
+            return entities;
+        }
+
+        public int getPlayers() {
+            return players;
+        }
+
+        public int getPlatforms() {
+            return platforms;
+        }
+
+        public Latency getTick() {
+            return tick;
+        }
+
+        public Latency getCollision() {
+            return collision;
+        }
+
+        public Latency getRender() {
+            return render;
+        }
+
+        private String toCsv(long time) {
+            return time + "," + framesPerSecond + "," + droppedFrames + "," + droppedTicks + "," +
+                    entities + "," + players + "," + platforms + "," +
+                    tick.p50 + "," + tick.p99 + "," + tick.max + "," +
+                    collision.p50 + "," + collision.p99 + "," + collision.max + "," +
+                    render.p50 + "," + render.p99 + "," + render.max;
+        }
+
+        private String toJson(long time) {
+            return "{\"time\":" + time + ",\"fps\":" + framesPerSecond +
+                    ",\"droppedFrames\":" + droppedFrames + ",\"droppedTicks\":" + droppedTicks +
+                    ",\"entities\":" + entities + ",\"players\":" + players + ",\"platforms\":" + platforms +
+                    ",\"tick\":" + toJson(tick) + ",\"collision\":" + toJson(collision) +
+                    ",\"render\":" + toJson(render) + "}";
+        }
+
+        private static String toJson(Latency latency) {
+            return "{\"p50\":" + latency.p50 + ",\"p99\":" + latency.p99 + ",\"max\":" + latency.max + "}";
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.game.Util;
+
+/**
+ * The JMX view of the game's metrics, registered by the MetricsCenter as
+ * "com.game:type=Metrics". The snapshot is shown as composite data by any
+ * JMX client, e.g. jconsole.
+ *
+ * @see com.game.Util.MetricsCenter
+ */
+public interface MetricsMXBean {
+    /**
+     * @return The metrics of the last second.
+     */
+    MetricsCenter.Snapshot getSnapshot();
+}
@@ -0,0 +1,152 @@
+package com.game.Util;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The helper class which splits loops over entities' indexes across
+ * cores with the common ForkJoinPool. A range is divided into equal parts
+ * which are not bigger than the threshold, but there are not more parts
+ * than twice the pool's threads, so small worlds never leave the calling
+ * thread. The parts are made once and reused by every range, so a split
+ * loop allocates nothing; the calling thread runs the first part itself.
+ *
+ * A task must write the slots of its own indexes only, so a parallel
+ * run gives exactly the same result as a sequential one. Anything shared
+ * (the CollisionGrid, random draws, events) should be done after the
+ * loop in the index order.
+ *
+ * The parallel mode may be switched off with -Dsnake.parallel=false
+ * or setParallel(false).
+ *
+ * @see com.game.Model.Platform#moveAll()
+ */
+public abstract class ParallelCenter {
+    /**
+     * The system property switching the parallel mode.
+     */
+    public static final String PARALLEL_PROPERTY = "snake.parallel";
+
+    /**
+     * The number of indexes which are not worth splitting further.
+     */
+    public static final int THRESHOLD = 2048;
+
+    /**
+     * The pool running the parts of a range.
+     */
+    private static final ForkJoinPool pool = ForkJoinPool.commonPool();
+
+    /**
+     * The parts of a range, the unused ones get empty ranges.
+     */
+    private static final RangeAction[] parts = new RangeAction[Math.max(pool.getParallelism(), 1) * 2];
+
+    static {
+        for(int i = 0; i < parts.length; i++) {
+            parts[i] = new RangeAction();
+        }
+    }
+
+    /**
+     * Either loops may be split across cores or not.
+     */
+    private static volatile boolean parallel =
+            !"false".equalsIgnoreCase(System.getProperty(PARALLEL_PROPERTY));
+
+    /**
+     * Run the task over [from, to), in parts on the pool when the parallel
+     * mode is on and the range is bigger than the threshold, otherwise
+     * on the calling thread at once. Returns when the whole range is done.
+     * Ranges of several threads are run on the pool one by one.
+     *
+     * @param from The first index (inclusive).
+     * @param to   The last index (exclusive).
+     * @param task The task processing a part of the range.
+     */
+    public static void forRange(int from, int to, RangeTask task) {
+        if(!parallel || to - from <= THRESHOLD || pool.getParallelism() < 2) {
+            task.run(from, to);
+        } else {
+            invokeParts(from, to, task);
+        }
+    }
+
+    /**
+     * Divide the range between the parts and run them.
+     */
+    private static synchronized void invokeParts(int from, int to, RangeTask task) {
+        int count = Math.min((to - from + THRESHOLD - 1) / THRESHOLD, parts.length);
+        int size  = (to - from + count - 1) / count;
+
+        for(int i = 0; i < parts.length; i++) {
+            int start = Math.min(from + i * size, to);
+            parts[i].set(start, Math.min(start + size, to), task);
+        }
+
+        try {
+            ForkJoinTask.invokeAll(parts);
+        } finally {
+            for(RangeAction part : parts) {
+                part.set(0, 0, null);
+            }
+        }
+    }
+
+    /**
+     * @return true if loops may be split across cores.
+     */
+    public static boolean isParallel() {
+        return parallel;
+    }
+
+    /**
+     * Switch the parallel mode, e.g. force the sequential one to compare runs.
+     *
+     * @param state true - split large loops, false - run them on the calling thread.
+     */
+    public static void setParallel(boolean state) {
+        parallel = state;
+    }
+
+    /**
+     * A loop's body over a part of indexes.
+     */
+    @FunctionalInterface
+    public interface RangeTask {
+        /**
+         * @param from The first index (inclusive).
+         * @param to   The last index (exclusive).
+         */
+        void run(int from, int to);
+    }
+
+    /**
+     * A part of a range, reinitialized for each range.
+     */
+    private static final class RangeAction extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private int from;
+        private int to;
+        private RangeTask task;
+
+        /**
+         * Take a new part, the previous run should be completed.
+         */
+        private void set(int from, int to, RangeTask task) {
+            reinitialize();
+            this.from = from;
+            this.to = to;
+            this.task = task;
+        }
+
+        @Override
+        protected void compute() {
+            if(from < to) {
+                task.run(from, to);
+            }
+        }
+    }
+}
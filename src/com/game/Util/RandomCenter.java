@@ -0,0 +1,95 @@
+package com.game.Util;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The helper class which gives random generators to the game world.
+ * Each game session has a seed, and every entity created during the
+ * session gets its own SplittableRandom split from the session's one
+ * in the order of creation. So a world built the same way with the same
+ * seed makes the same moves, and entities never contend for a shared
+ * generator, even when they are moved on different threads.
+ *
+ * The seed may be fixed with -Dsnake.seed=N, otherwise (or if it is not
+ * a number) a new one is taken for each session.
+ *
+ * @see com.game.Model.EntityStore
+ * @see com.game.Model.Platform
+ */
+public abstract class RandomCenter {
+    /**
+     * The system property fixing the session's seed.
+     */
+    public static final String SEED_PROPERTY = "snake.seed";
+
+    /**
+     * The seed of the current session.
+     */
+    private static long seed;
+
+    /**
+     * The generator entities' generators are split from.
+     */
+    private static SplittableRandom session;
+
+    static {
+        reset();
+    }
+
+    /**
+     * Start a new session with the seed given by the system property,
+     * or with a random one if it is not set or invalid.
+     *
+     * @return The session's seed.
+     */
+    public static synchronized long reset() {
+        return reset(getPropertySeed());
+    }
+
+    /**
+     * @return The seed set by the system property or a random one if it
+     *         is not set or invalid.
+     */
+    private static long getPropertySeed() {
+        String property = System.getProperty(SEED_PROPERTY);
+
+        try {
+            if(property != null) {
+                return Long.parseLong(property.trim());
+            }
+        } catch(NumberFormatException ex) {
+            System.err.println("Invalid " + SEED_PROPERTY + ": " + property + ", a random seed is used");
+        }
+
+        return ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Start a new session with the given seed.
+     *
+     * @param seed The session's seed.
+     * @return The session's seed.
+     */
+    public static synchronized long reset(long seed) {
+        RandomCenter.seed = seed;
+        session = new SplittableRandom(seed);
+        return seed;
+    }
+
+    /**
+     * @return The seed of the current session.
+     */
+    public static synchronized long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Give an independent generator to a new entity.
+     *
+     * @return A generator split from the session's one.
+     */
+    public static synchronized SplittableRandom split() {
+        return session.split();
+    }
+}
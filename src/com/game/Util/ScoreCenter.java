@@ -0,0 +1,71 @@
+package com.game.Util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The helper class which counts the player's score points. Points
+ * come from the simulation only: the player earns them for each step
+ * survived without a collision and for bonus events, so the result does
+ * not depend on how often the scene was repainted or how many platforms
+ * are in game.
+ *
+ * Both kinds of points are kept in a single atomic counter of steps
+ * (a bonus point is worth TICKS_PER_POINT steps), so the score can be
+ * safely read and reset from any thread.
+ *
+ * @see com.game.Handler.Simulation
+ */
+public abstract class ScoreCenter {
+    /**
+     * The number of survived steps giving a single point.
+     */
+    public static final int TICKS_PER_POINT = 10;
+
+    /**
+     * The points given for a bonus event.
+     */
+    public static final int BONUS_POINTS = 10;
+
+    /**
+     * The score counted in steps.
+     */
+    private static final AtomicLong ticks = new AtomicLong();
+
+    /**
+     * Count a simulation step survived by the player.
+     */
+    public static void tickSurvived() {
+        ticks.incrementAndGet();
+    }
+
+    /**
+     * Add points for a bonus event, e.g. crossing the field's border.
+     */
+    public static void addBonus() {
+        ticks.addAndGet((long) BONUS_POINTS * TICKS_PER_POINT);
+    }
+
+    /**
+     * @return The points scored.
+     */
+    public static long getScore() {
+        return ticks.get() / TICKS_PER_POINT;
+    }
+
+    /**
+     * Get the points scored and remove them at once, so no points
+     * counted in between are lost.
+     *
+     * @return The points scored before the reset.
+     */
+    public static long takeScore() {
+        return ticks.getAndSet(0) / TICKS_PER_POINT;
+    }
+
+    /**
+     * Remove all previous score points.
+     */
+    public static void cleanScore() {
+        ticks.set(0);
+    }
+}
@@ -0,0 +1,390 @@
+package com.game.Util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * The helper class which keeps statistics of finished game sessions.
+ * Each session is appended as a fixed-size record to a local file which
+ * is never rewritten, so several games (e.g. on a shared machine) may
+ * append to the same file. Records are read by streaming the file from
+ * the last read offset, so only records appended since the previous read
+ * are read, and the history is kept in memory as an index: the best
+ * TOP_SIZE sessions and the number of sessions per score, which gives
+ * percentiles without keeping every session.
+ *
+ * Games sharing the file append under an exclusive lock of the file and
+ * read under a shared one, so a record is never read while it is being
+ * written. A record torn by a game which crashed while appending it is
+ * never read: the next append cuts it off before writing its own record.
+ *
+ * The file is "~/.snake/statistics.bin" unless -Dsnake.statistics=file
+ * is set. All file operations are done on a background thread.
+ *
+ * @see com.game.Util.StatisticsCenter.Session
+ */
+public abstract class StatisticsCenter {
+    /**
+     * The system property naming the statistics file.
+     */
+    public static final String FILE_PROPERTY = "snake.statistics";
+
+    /**
+     * The number of best sessions kept in the index.
+     */
+    public static final int TOP_SIZE = 100;
+
+    /**
+     * The first bytes of the file.
+     */
+    private static final int MAGIC = 0x534E4B53;
+
+    /**
+     * The version of the format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * The size of the file's header.
+     */
+    private static final int HEADER_SIZE = 8;
+
+    /**
+     * The size of a single record.
+     */
+    private static final int RECORD_SIZE = Session.SIZE;
+
+    /**
+     * The number of records read at once.
+     */
+    private static final int BATCH = 4096;
+
+    /**
+     * The statistics file.
+     */
+    private static final Path file = findFile();
+
+    /**
+     * The thread doing all file operations in order.
+     */
+    private static final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "statistics");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // the index, guarded by the class
+
+    /**
+     * The best sessions, the worst of them on the top.
+     */
+    private static final PriorityQueue<Session> top = new PriorityQueue<>(TOP_SIZE + 1, Session.BY_SCORE);
+
+    /**
+     * The number of sessions per score.
+     */
+    private static final TreeMap<Integer, Long> scores = new TreeMap<>();
+
+    /**
+     * The number of sessions indexed.
+     */
+    private static long count = 0;
+
+    /**
+     * The file's offset the next record is read from (worker only).
+     */
+    private static long offset = HEADER_SIZE;
+
+    /**
+     * Append the finished session to the file and index it.
+     *
+     * @param session A finished session.
+     * @return A future completed once the session is stored.
+     */
+    public static CompletableFuture<Void> record(Session session) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                append(session);
+                read();
+            } catch(IOException ex) {
+                System.err.println("Unable to save statistics: " + ex.getMessage());
+            }
+        }, worker);
+    }
+
+    /**
+     * Read the sessions appended to the file since the previous read, e.g.
+     * the whole history on the first call or sessions of other games
+     * sharing the file.
+     *
+     * @return A future completed once the index is up to date.
+     */
+    public static CompletableFuture<Void> refresh() {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                read();
+            } catch(IOException ex) {
+                System.err.println("Unable to load statistics: " + ex.getMessage());
+            }
+        }, worker);
+    }
+
+    /**
+     * @return The number of sessions indexed.
+     */
+    public static synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * @param n The number of sessions (not more than TOP_SIZE).
+     * @return The best sessions, the best first.
+     */
+    public static synchronized List<Session> getTop(int n) {
+        List<Session> best = new ArrayList<>(top);
+        best.sort(Session.BY_SCORE.reversed());
+
+        return best.subList(0, Math.min(n, best.size()));
+    }
+
+    /**
+     * @param percentile A percentile (0 - 100).
+     * @return The score the given percent of sessions did not exceed
+     *         (0 if there are no sessions).
+     */
+    public static synchronized int getPercentile(double percentile) {
+        if(count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(count * Math.min(percentile, 100) / 100));
+        long seen = 0;
+
+        for(Map.Entry<Integer, Long> entry : scores.entrySet()) {
+            seen += entry.getValue();
+
+            if(seen >= rank) {
+                return entry.getKey();
+            }
+        }
+
+        return scores.lastKey();
+    }
+
+    /**
+     * Add a session to the index.
+     *
+     * @param session A stored session.
+     */
+    private static synchronized void index(Session session) {
+        count++;
+        scores.merge(session.score, 1L, Long::sum);
+
+        if(top.size() < TOP_SIZE) {
+            top.add(session);
+        } else if(Session.BY_SCORE.compare(session, top.peek()) > 0) {
+            top.poll();
+            top.add(session);
+        }
+    }
+
+    /**
+     * Append a record in a single write while the file is locked, writing
+     * the header first if the file is new and cutting off a torn record
+     * left at the end of the file (worker only).
+     */
+    private static void append(Session session) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if(parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            FileLock lock = channel.lock();
+
+            try {
+                ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + RECORD_SIZE);
+                long size = channel.size();
+
+                if(size < HEADER_SIZE) {
+                    channel.truncate(0); // a torn header
+                    buffer.putInt(MAGIC).putInt(VERSION);
+                } else if((size - HEADER_SIZE) % RECORD_SIZE != 0) {
+                    channel.truncate(size - (size - HEADER_SIZE) % RECORD_SIZE);
+                }
+
+                session.write(buffer);
+                buffer.flip();
+
+                while(buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Stream the whole records appended after the offset into the index
+     * while the file is locked for reading, a torn record at the end of
+     * the file is left for the next append to cut off (worker only).
+     */
+    private static void read() throws IOException {
+        if(!Files.exists(file)) {
+            return;
+        }
+
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            FileLock lock = channel.lock(0, Long.MAX_VALUE, true);
+
+            try {
+                readRecords(channel);
+            } finally {
+                lock.release();
+            }
+        }
+    }
+
+    /**
+     * Read the records after the offset from the locked file (worker only).
+     */
+    private static void readRecords(FileChannel channel) throws IOException {
+        if(offset == HEADER_SIZE) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            if(channel.read(header, 0) < HEADER_SIZE) {
+                return; // a torn header, rewritten by the next append
+            }
+
+            header.flip();
+            if(header.getInt() != MAGIC || header.getInt() != VERSION) {
+                throw new IOException("Not a statistics file: " + file);
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(BATCH * RECORD_SIZE);
+        long size = channel.size();
+
+        while(size - offset >= RECORD_SIZE) {
+            buffer.clear();
+            buffer.limit((int) Math.min(buffer.capacity(), (size - offset) / RECORD_SIZE * RECORD_SIZE));
+
+            while(buffer.hasRemaining()) {
+                if(channel.read(buffer, offset + buffer.position()) < 0) {
+                    break;
+                }
+            }
+
+            buffer.flip();
+            while(buffer.remaining() >= RECORD_SIZE) {
+                index(Session.read(buffer));
+                offset += RECORD_SIZE;
+            }
+        }
+    }
+
+    private static Path findFile() {
+        String name = System.getProperty(FILE_PROPERTY);
+        if(name != null && !name.isEmpty()) {
+            return Paths.get(name);
+        }
+
+        return Paths.get(System.getProperty("user.home"), ".snake", "statistics.bin");
+    }
+
+    /**
+     * A finished game session.
+     */
+    public static final class Session {
+        /**
+         * The size of a written session: time, seed, ticks and duration
+         * (longs), score and platforms (ints).
+         */
+        static final int SIZE = 4 * 8 + 2 * 4;
+
+        /**
+         * Sessions ordered by score, then by the number of steps survived.
+         */
+        static final Comparator<Session> BY_SCORE =
+                Comparator.<Session>comparingInt(s -> s.score).thenComparingLong(s -> s.ticks);
+
+        private final long time;
+        private final long seed;
+        private final long ticks;
+        private final long duration;
+        private final int  score;
+        private final int  platforms;
+
+        /**
+         * @param time      The time the session was finished (milliseconds since the epoch).
+         * @param seed      The seed of the session's world.
+         * @param ticks     The number of simulation steps made.
+         * @param duration  The session's duration (milliseconds).
+         * @param score     The score.
+         * @param platforms The number of platforms in game.
+         */
+        public Session(long time, long seed, long ticks, long duration, int score, int platforms) {
+            this.time = time;
+            this.seed = seed;
+            this.ticks = ticks;
+            this.duration = duration;
+            this.score = score;
+            this.platforms = platforms;
+        }
+
+        /**
+         * Read a session written by write(ByteBuffer).
+         *
+         * @param buffer A buffer at the session's position.
+         * @return The session.
+         */
+        static Session read(ByteBuffer buffer) {
+            return new Session(buffer.getLong(), buffer.getLong(), buffer.getLong(),
+                    buffer.getLong(), buffer.getInt(), buffer.getInt());
+        }
+
+        /**
+         * Write the session (SIZE bytes) at the buffer's position.
+         *
+         * @param buffer A buffer with SIZE bytes remaining.
+         */
+        void write(ByteBuffer buffer) {
+            buffer.putLong(time).putLong(seed).putLong(ticks).putLong(duration).putInt(score).putInt(platforms);
+        }
+
+        public long getTime() {
+            return time;
+        }
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public long getTicks() {
+            return ticks;
+        }
+
+        public long getDuration() {
+            return duration;
+        }
+
+        public int getScore() {
+            return score;
+        }
+
+        public int getPlatforms() {
+            return platforms;
+        }
+    }
+}
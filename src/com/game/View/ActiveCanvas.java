@@ -0,0 +1,178 @@
+package com.game.View;
+
+import com.game.Util.MetricsCenter;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+
+/**
+ * A heavyweight canvas which is rendered actively: the scene is drawn
+ * into the back buffer of a BufferStrategy and then shown at once by
+ * flipping pages (or copying the buffer if flipping is not supported),
+ * so the frame does not wait for Swing's repaint requests. Creatures'
+ * images are drawn through a SpriteCache of screen compatible sprites.
+ * Only the creatures seen by the Camera are drawn, as of the latest frame
+ * of a SceneBuffer.
+ *
+ * The canvas ignores system repaint requests, it is the game loop which
+ * should invoke render() with the wanted frame rate, see paceFrameRate().
+ *
+ * @see java.awt.image.BufferStrategy
+ * @see com.game.View.SpriteCache
+ * @see com.game.View.SceneBuffer
+ * @see com.game.View.Camera
+ * @see com.game.View.RenderMode
+ */
+public class ActiveCanvas extends Canvas {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of buffers used (a front and a back one).
+     */
+    private static final int BUFFERS = 2;
+
+    /**
+     * The strategy created once the canvas is displayable.
+     */
+    private BufferStrategy strategy;
+
+    /**
+     * Sprites of creatures' images.
+     */
+    private SpriteCache sprites;
+
+    /**
+     * Frames of the scene drawn.
+     */
+    private final SceneBuffer scenes;
+
+    /**
+     * Create a new canvas with the given background.
+     *
+     * @param background The scene's background color.
+     * @param scenes     Frames of the scene to draw.
+     */
+    public ActiveCanvas(Color background, SceneBuffer scenes) {
+        this.scenes = scenes;
+
+        setBackground(background);
+        setIgnoreRepaint(true);
+    }
+
+    /**
+     * Draw the latest frame into the back buffer and show it.
+     * Repeat the frame if the buffer's contents were lost meanwhile. Does
+     * nothing until the canvas is displayable.
+     */
+    public void render() {
+        if(!isDisplayable() || getWidth() <= 0 || getHeight() <= 0) {
+            return;
+        }
+
+        if(strategy == null) {
+            createStrategy();
+        }
+
+        sprites.setConfiguration(getGraphicsConfiguration());
+
+        long start = System.nanoTime();
+        do {
+            do {
+                Graphics g = strategy.getDrawGraphics();
+
+                try {
+                    draw(g);
+                } finally {
+                    g.dispose();
+                }
+            } while(strategy.contentsRestored());
+
+            strategy.show();
+        } while(strategy.contentsLost());
+
+        // flush the pipeline, so the frame is displayed right now
+        Toolkit.getDefaultToolkit().sync();
+        MetricsCenter.renderTime(System.nanoTime() - start);
+    }
+
+    /**
+     * Pick the frame rate closest to the wanted one which divides the
+     * screen's refresh rate, so each frame is shown for the same number
+     * of screen refreshes and frame times stay even. The wanted rate is
+     * returned as is if the refresh rate is unknown.
+     *
+     * @param wanted The wanted frame rate (frames per second).
+     * @return The frame rate to render with.
+     */
+    public int paceFrameRate(int wanted) {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        if(configuration == null || wanted <= 0) {
+            return wanted;
+        }
+
+        int refresh = configuration.getDevice().getDisplayMode().getRefreshRate();
+        if(refresh == DisplayMode.REFRESH_RATE_UNKNOWN || refresh <= 0) {
+            return wanted;
+        }
+
+        int divisor = Math.max(1, Math.round((float) refresh / wanted));
+        return refresh / divisor;
+    }
+
+    /**
+     * Release the buffers and sprites once the canvas is removed.
+     */
+    @Override
+    public void removeNotify() {
+        if(strategy != null) {
+            strategy.dispose();
+            strategy = null;
+        }
+
+        if(sprites != null) {
+            sprites.flush();
+        }
+
+        super.removeNotify();
+    }
+
+    /**
+     * Create the buffer strategy, preferring page flipping.
+     */
+    private void createStrategy() {
+        try {
+            createBufferStrategy(BUFFERS, new BufferCapabilities(
+                    new ImageCapabilities(true), new ImageCapabilities(true),
+                    BufferCapabilities.FlipContents.UNDEFINED));
+        } catch(AWTException ex) {
+            createBufferStrategy(BUFFERS); // the best one available
+        }
+
+        strategy = getBufferStrategy();
+
+        if(sprites == null) {
+            sprites = new SpriteCache(getGraphicsConfiguration());
+        }
+    }
+
+    /**
+     * Draw the scene.
+     *
+     * @param g The Graphics object of the back buffer.
+     */
+    private void draw(Graphics g) {
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
+
+        SceneBuffer.Frame frame = scenes.getFront();
+        int cameraX = frame.getCameraX(), cameraY = frame.getCameraY();
+
+        // platforms first, so the players are on top
+        for(int i = 0; i < frame.size(); i++) {
+            g.drawImage(sprites.get(frame.getCreature(i).getImage()),
+                    frame.getX(i) - cameraX, frame.getY(i) - cameraY, null);
+        }
+
+        MetricsOverlay.draw(g);
+    }
+}
@@ -0,0 +1,153 @@
+package com.game.View;
+
+import com.game.Model.Creature;
+import com.game.Model.EntityStore;
+import com.game.Model.Platform;
+import com.game.Util.CollisionGrid;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The helper class which keeps the part of the world shown on the screen
+ * (the viewport), so worlds may be much bigger than the window. The camera
+ * follows the player, scrolling only once the player comes closer than
+ * MARGIN to an edge of the viewport, so the player may be dragged around
+ * the screen as usual, and never shows anything beyond the world's field.
+ *
+ * Only the creatures intersecting the viewport are drawn: they are found
+ * through the CollisionGrid, which takes a time depending on the number of
+ * creatures on the screen rather than in the world. Canvases draw the world
+ * shifted by the camera's position.
+ *
+ * The camera is moved and queried by the thread advancing the world, which
+ * captures what it sees into a SceneBuffer. The event dispatch thread sees
+ * the camera's position through the captured frames only, which also shift
+ * pointer's positions back into the world's coordinates.
+ *
+ * @see com.game.View.SceneBuffer
+ * @see com.game.View.GameCanvas
+ * @see com.game.View.ActiveCanvas
+ * @see com.game.Util.CollisionGrid
+ */
+public abstract class Camera {
+    /**
+     * The distance from the viewport's edges the followed creature is kept at.
+     */
+    public static final int MARGIN = 150;
+
+    // the viewport in the world's coordinates
+
+    private static int x      = 0;
+    private static int y      = 0;
+    private static int width  = CollisionGrid.FIELD_WIDTH;
+    private static int height = CollisionGrid.FIELD_HEIGHT;
+
+    /**
+     * Creatures found by the last query of the grid.
+     */
+    private static final List<Creature> candidates = new ArrayList<>();
+
+    /**
+     * Indices of entities of the visible platforms, sorted in place, so
+     * ordering them allocates nothing.
+     */
+    private static int[] visible = new int[64];
+
+    /**
+     * Set the size of the viewport, e.g. the canvas' one.
+     *
+     * @param width  The viewport's width.
+     * @param height The viewport's height.
+     */
+    public static void setViewport(int width, int height) {
+        Camera.width = width;
+        Camera.height = height;
+    }
+
+    /**
+     * Scroll the viewport, so the creature is kept MARGIN away from its
+     * edges, without leaving the world's field.
+     *
+     * @param target      A creature to follow, e.g. the player.
+     * @param worldWidth  The width of the world's field.
+     * @param worldHeight The height of the world's field.
+     */
+    public static void follow(Creature target, int worldWidth, int worldHeight) {
+        int margin = Math.min(MARGIN, Math.min(width - target.getWidth(), height - target.getHeight()) / 2);
+
+        x = Math.min(x, target.getX() - margin);
+        x = Math.max(x, target.getX() + target.getWidth() + margin - width);
+        y = Math.min(y, target.getY() - margin);
+        y = Math.max(y, target.getY() + target.getHeight() + margin - height);
+
+        x = Math.max(0, Math.min(x, worldWidth - width));
+        y = Math.max(0, Math.min(y, worldHeight - height));
+    }
+
+    /**
+     * Show the world from its top left corner.
+     */
+    public static void reset() {
+        x = 0;
+        y = 0;
+    }
+
+    /**
+     * @return The X-coordinate of the viewport's top left corner in the world.
+     */
+    public static int getX() {
+        return x;
+    }
+
+    /**
+     * @return The Y-coordinate of the viewport's top left corner in the world.
+     */
+    public static int getY() {
+        return y;
+    }
+
+    /**
+     * @param creature A creature.
+     * @return true if the creature's bounds intersect the viewport.
+     */
+    public static boolean isVisible(Creature creature) {
+        return creature.getX() < x + width && creature.getX() + creature.getWidth() > x &&
+                creature.getY() < y + height && creature.getY() + creature.getHeight() > y;
+    }
+
+    /**
+     * Collect the platforms intersecting the viewport in the order of
+     * their entities, so overlapping platforms are drawn the same way
+     * as if all platforms were drawn.
+     *
+     * @param out An empty list to add the platforms to.
+     * @return The same list with the platforms added.
+     */
+    public static List<Creature> findVisiblePlatforms(List<Creature> out) {
+        candidates.clear();
+        CollisionGrid.findCandidates(null, x, y, width, height, candidates);
+
+        int count = 0;
+        for(int i = 0; i < candidates.size(); i++) {
+            Creature creature = candidates.get(i);
+
+            if(creature instanceof Platform && isVisible(creature)) {
+                if(count == visible.length) {
+                    visible = Arrays.copyOf(visible, count * 2);
+                }
+                visible[count++] = creature.getIndex();
+            }
+        }
+
+        candidates.clear();
+        Arrays.sort(visible, 0, count);
+
+        for(int i = 0; i < count; i++) {
+            out.add(EntityStore.getOwner(visible[i]));
+        }
+
+        return out;
+    }
+}
@@ -1,14 +1,107 @@
 package com.game.View;
 
+import com.game.Model.Creature;
+
 /**
- * This interface plays a role of a simple marker to collision listeners,
- * saying that some collision was detected and listeners which get this event
- * should do something about that.
+ * An event saying that two creatures collided. It is sent to both
+ * creatures of the colliding pair only, carrying the pair itself, the
+ * side of the first creature touched by the second one and the
+ * simulation step the collision was found on.
+ *
+ * Events are reused by the CollisionEventPool, so a listener should not
+ * keep a reference to the event after collisionOccurred() returns.
  *
  * @see com.game.View.CollisionListener
+ * @see com.game.View.CollisionEventPool
  *
  * Created by E. Mozharovsky on 19.06.14.
  */
-public interface CollisionEvent {
+public final class CollisionEvent {
+    /**
+     * The first creature of the pair.
+     */
+    private Creature first;
+
+    /**
+     * The second creature of the pair.
+     */
+    private Creature second;
+
+    /**
+     * The side of the first creature touched by the second one.
+     */
+    private Side side;
+
+    /**
+     * The simulation step the collision was found on.
+     */
+    private long tick;
+
+    /**
+     * Create an empty event, only the pool should do it.
+     */
+    CollisionEvent() { }
+
+    /**
+     * Fill the event with a new collision.
+     *
+     * @param first  The first creature of the pair.
+     * @param second The second creature of the pair.
+     * @param side   The side of the first creature touched by the second one.
+     * @param tick   The simulation step.
+     * @return This event.
+     */
+    CollisionEvent set(Creature first, Creature second, Side side, long tick) {
+        this.first = first;
+        this.second = second;
+        this.side = side;
+        this.tick = tick;
+        return this;
+    }
+
+    /**
+     * @return The first creature of the pair.
+     */
+    public Creature getFirst() {
+        return first;
+    }
+
+    /**
+     * @return The second creature of the pair.
+     */
+    public Creature getSecond() {
+        return second;
+    }
+
+    /**
+     * @param creature One of the colliding creatures.
+     * @return The creature it collided with.
+     */
+    public Creature getOther(Creature creature) {
+        return creature == first ? second : first;
+    }
+
+    /**
+     * @return The side of the first creature touched by the second one.
+     */
+    public Side getSide() {
+        return side;
+    }
+
+    /**
+     * @return The simulation step the collision was found on.
+     */
+    public long getTick() {
+        return tick;
+    }
 
+    /**
+     * Sides of a creature's bounds.
+     */
+    public enum Side {
+        TOP,
+        BOTTOM,
+        LEFT,
+        RIGHT;
+    }
 }
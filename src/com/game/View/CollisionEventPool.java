@@ -0,0 +1,78 @@
+package com.game.View;
+
+import com.game.Model.Creature;
+
+import java.util.Arrays;
+
+/**
+ * A pool of CollisionEvent objects. Events are handed out one by one
+ * during a collision check and all of them are taken back at once before
+ * the next check, so no events are created while playing once the pool
+ * has grown to the largest number of collisions per check.
+ *
+ * @see com.game.View.CollisionEvent
+ */
+public final class CollisionEventPool {
+    /**
+     * Events created so far.
+     */
+    private CollisionEvent[] events;
+
+    /**
+     * The number of events handed out since the last release.
+     */
+    private int used = 0;
+
+    /**
+     * Create a pool with a few preallocated events.
+     */
+    public CollisionEventPool() {
+        this(8);
+    }
+
+    /**
+     * Create a pool with the given number of preallocated events.
+     *
+     * @param capacity The number of events to create at once.
+     */
+    public CollisionEventPool(int capacity) {
+        events = new CollisionEvent[Math.max(capacity, 1)];
+
+        for(int i = 0; i < events.length; i++) {
+            events[i] = new CollisionEvent();
+        }
+    }
+
+    /**
+     * Hand out a free event filled with the given collision.
+     *
+     * @param first  The first creature of the pair.
+     * @param second The second creature of the pair.
+     * @param side   The side of the first creature touched by the second one.
+     * @param tick   The simulation step.
+     * @return The filled event.
+     */
+    public CollisionEvent obtain(Creature first, Creature second, CollisionEvent.Side side, long tick) {
+        if(used == events.length) {
+            int size = events.length;
+            events = Arrays.copyOf(events, size * 2);
+
+            for(int i = size; i < events.length; i++) {
+                events[i] = new CollisionEvent();
+            }
+        }
+
+        return events[used++].set(first, second, side, tick);
+    }
+
+    /**
+     * Take all events back, dropping references to creatures.
+     */
+    public void releaseAll() {
+        for(int i = 0; i < used; i++) {
+            events[i].set(null, null, null, 0);
+        }
+
+        used = 0;
+    }
+}
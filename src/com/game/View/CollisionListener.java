@@ -4,8 +4,8 @@ package com.game.View;
  * The listener interface for receiving collision events.
  * Each object implements this listener is registered in
  * CustomStorage to be capable of being informed once a
- * collision event is generated and therefore sent to
- * all collision listeners, doing something about this.
+ * collision event is generated for a collision it takes
+ * part in, doing something about this.
  *
  * @see com.game.View.CustomStorage
  * @see com.game.View.CollisionEvent
@@ -14,11 +14,12 @@ package com.game.View;
  */
 public interface CollisionListener {
     /**
-     * Invoke when a collision between some elements in game found by the
-     * CollisionCenter, thus each listener should stop any movement.
+     * Invoke when a collision between this listener and some other element
+     * in game found by the CollisionCenter, thus the listener should stop
+     * any movement.
      *
-     * @param ev A collision event (a simple marker), saying that a collision
-     *           detected.
+     * @param ev A collision event describing the collision. It is reused
+     *           after the method returns.
      */
     void collisionOccurred(CollisionEvent ev);
 }
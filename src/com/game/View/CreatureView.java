@@ -0,0 +1,88 @@
+package com.game.View;
+
+import com.game.Model.Creature;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A widget showing a single creature, used when every creature should
+ * be a separate component (the COMPONENTS render mode). The widget does
+ * not follow its creature by itself: each frame of a SceneBuffer the
+ * creature is seen on should be shown by show(), and the widget should be
+ * hidden by hideUnlessShown() once the creature is out of the camera's
+ * sight.
+ *
+ * @see com.game.Model.Creature
+ * @see com.game.View.SceneBuffer
+ * @see com.game.View.RenderMode
+ */
+public class CreatureView extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The creature shown.
+     */
+    private final Creature creature;
+
+    /**
+     * The number of the last frame the widget was shown on.
+     */
+    private long shownOn = -1;
+
+    /**
+     * Create a new widget showing the creature, hidden until it is shown
+     * on a frame.
+     *
+     * @param creature The creature to show.
+     */
+    public CreatureView(Creature creature) {
+        this.creature = creature;
+        setVisible(false);
+    }
+
+    /**
+     * Move the widget to the creature's bounds on the screen as of the
+     * frame if they changed.
+     *
+     * @param frame The frame the creature is seen on.
+     * @param i     The creature's number in the frame.
+     */
+    public void show(SceneBuffer.Frame frame, int i) {
+        shownOn = frame.getNumber();
+        if(!isVisible()) {
+            setVisible(true);
+        }
+
+        int x = frame.getX(i) - frame.getCameraX();
+        int y = frame.getY(i) - frame.getCameraY();
+
+        if(getX() != x || getY() != y || getWidth() != frame.getWidth(i) || getHeight() != frame.getHeight(i)) {
+            setBounds(x, y, frame.getWidth(i), frame.getHeight(i));
+        }
+    }
+
+    /**
+     * Hide the widget if it was not shown on the frame.
+     *
+     * @param frame The latest frame.
+     * @return true if the widget is still visible.
+     */
+    public boolean hideUnlessShown(SceneBuffer.Frame frame) {
+        if(shownOn != frame.getNumber() && isVisible()) {
+            setVisible(false);
+        }
+
+        return isVisible();
+    }
+
+    /**
+     * Draw the creature's image over the whole widget.
+     *
+     * @param g The Graphics object we use to paint this widget on.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        g.drawImage(creature.getImage(), 0, 0, getWidth(), getHeight(), this);
+    }
+}
@@ -1,16 +1,32 @@
 package com.game.View;
 
+import com.game.Model.Creature;
+import com.game.Model.EntityStore;
+import com.game.Model.Platform;
+import com.game.Model.Player;
+import com.game.Util.CollisionGrid;
+
 import java.util.ArrayList;
 
 /**
  * A simple storage for all kind of CollisionListener objects,
  * which registers each object implementing CollisionListener interface,
- * providing ways to get a copy of this collection with listeners also
- * clear it when it is necessary, and which sends a created CollisionEvent
- * to all collision listeners in the collection.
+ * providing ways to iterate this collection with listeners, remove single
+ * listeners and clear it when it is necessary, and which sends a created
+ * CollisionEvent to the colliding listeners only.
+ *
+ * Players and platforms are also indexed separately, so the game does not
+ * have to filter the whole collection to find them. All collections are
+ * EntityList objects, so adding, removing and membership checks take a
+ * constant time.
+ *
+ * A creature removed while any of the collections is iterated keeps its
+ * entity and its place in the CollisionGrid until all iterations are
+ * finished, so it may still be visited safely.
  *
  * @see com.game.View.CollisionEvent
  * @see com.game.View.CollisionListener
+ * @see com.game.View.EntityList
  *
  * Created by E. Mozharovsky on 19.06.14.
  */
@@ -18,7 +34,24 @@ public abstract class CustomStorage {
     /**
      * A collection which stores every registered CollisionListener.
      */
-    private static ArrayList<CollisionListener> collisionListeners = new ArrayList<>();
+    private static final EntityList<CollisionListener> collisionListeners =
+            new EntityList<>(CustomStorage::releasePending);
+
+    /**
+     * Registered players.
+     */
+    private static final EntityList<Player> players = new EntityList<>(CustomStorage::releasePending);
+
+    /**
+     * Registered platforms.
+     */
+    private static final EntityList<Platform> platforms = new EntityList<>(CustomStorage::releasePending);
+
+    /**
+     * Creatures removed during an iteration, which entities are not
+     * released yet.
+     */
+    private static final ArrayList<Creature> pendingReleases = new ArrayList<>();
 
     /**
      * Register an object which implements CollisionListener interface,
@@ -28,35 +61,129 @@ public abstract class CustomStorage {
      * @return An adding status (true - success, false - fail to register).
      */
     public static boolean addCollisionListener(CollisionListener listener) {
-        if(listener.equals(null))
+        if(listener == null || !collisionListeners.add(listener))
             return false;
 
-        collisionListeners.add(listener);
+        if(listener instanceof Player) {
+            players.add((Player) listener);
+        } else if(listener instanceof Platform) {
+            platforms.add((Platform) listener);
+        }
+
         return true;
     }
 
     /**
-     * Send a CollisionEvent to all registered listeners.
+     * Unregister the listener, so it is no longer noticed about collisions
+     * and, if it is a creature, can no longer collide with others.
      *
-     * @param ev An object of CollisionEvent (a simple marker).
+     * @param listener A registered listener.
+     * @return A removing status (true - success, false - was not registered).
      */
-    public static void broadcastCollisionEvent(CollisionEvent ev) {
-        for(int i = 0; i < collisionListeners.size(); i++) {
-            collisionListeners.get(i).collisionOccurred(ev);
+    public static boolean removeCollisionListener(CollisionListener listener) {
+        if(listener == null || !collisionListeners.remove(listener))
+            return false;
+
+        if(listener instanceof Player) {
+            players.remove((Player) listener);
+        } else if(listener instanceof Platform) {
+            platforms.remove((Platform) listener);
+        }
+
+        if(listener instanceof Creature) {
+            if(isIterating()) {
+                pendingReleases.add((Creature) listener);
+            } else {
+                release((Creature) listener);
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return true if any of the collections is being iterated.
+     */
+    private static boolean isIterating() {
+        return collisionListeners.isIterating() || players.isIterating() || platforms.isIterating();
+    }
+
+    /**
+     * Release entities of the creatures removed during iterations once
+     * no collection is iterated.
+     */
+    private static void releasePending() {
+        if(pendingReleases.isEmpty() || isIterating()) {
+            return;
+        }
+
+        for(int i = 0; i < pendingReleases.size(); i++) {
+            Creature creature = pendingReleases.get(i);
+
+            // it may have been added back during the iteration
+            if(!collisionListeners.contains(creature)) {
+                release(creature);
+            }
+        }
+        pendingReleases.clear();
+    }
+
+    /**
+     * Remove the creature's place in the CollisionGrid and its entity.
+     *
+     * @param creature A removed creature.
+     */
+    private static void release(Creature creature) {
+        CollisionGrid.remove(creature);
+        EntityStore.remove(creature);
+    }
+
+    /**
+     * Send a CollisionEvent to both creatures of the colliding pair if
+     * they are registered.
+     *
+     * @param ev An object of CollisionEvent describing the collision.
+     */
+    public static void dispatchCollisionEvent(CollisionEvent ev) {
+        if(collisionListeners.contains(ev.getFirst())) {
+            ev.getFirst().collisionOccurred(ev);
+        }
+
+        if(ev.getSecond() != ev.getFirst() && collisionListeners.contains(ev.getSecond())) {
+            ev.getSecond().collisionOccurred(ev);
         }
     }
 
     /**
      * @return A collection with registered collision listeners.
      */
-    public static ArrayList<CollisionListener> getCollisionListeners() {
+    public static EntityList<CollisionListener> getCollisionListeners() {
         return collisionListeners;
     }
 
+    /**
+     * @return A collection with registered players.
+     */
+    public static EntityList<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return A collection with registered platforms.
+     */
+    public static EntityList<Platform> getPlatforms() {
+        return platforms;
+    }
+
     /**
      * Clear the collection with listeners (when the game should be shut down/restarted/closed).
      */
     public static void clear() {
         collisionListeners.clear();
+        players.clear();
+        platforms.clear();
+        pendingReleases.clear();
+        CollisionGrid.clear();
+        EntityStore.clear();
     }
 }
@@ -0,0 +1,233 @@
+package com.game.View;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.function.Consumer;
+
+/**
+ * A collection of game entities with constant time adding, removing and
+ * membership checks. Entities are kept in a dense array, so they can be
+ * iterated by index without creating iterators or copies, and an identity
+ * map of their positions. A removed entity's place is taken by the last
+ * one, so the order of entities is not preserved.
+ *
+ * Entities may be added or removed while the collection is iterated by
+ * forEach() (e.g. a listener removes itself), such changes are put aside
+ * and applied once the outermost iteration is finished, after which the
+ * collection's owner is notified. Loops by index should not change the
+ * collection.
+ *
+ * @see com.game.View.CustomStorage
+ *
+ * @param <T> The type of entities.
+ */
+public final class EntityList<T> {
+    /**
+     * Entities kept from the start of the array.
+     */
+    private Object[] entities = new Object[16];
+
+    /**
+     * The number of entities.
+     */
+    private int size = 0;
+
+    /**
+     * Positions of entities in the array.
+     */
+    private final IdentityHashMap<T, Integer> indices = new IdentityHashMap<>();
+
+    /**
+     * The depth of nested forEach() calls being run.
+     */
+    private int iterations = 0;
+
+    /**
+     * Changes put aside until the iteration is finished: entities to
+     * add and remove in the order the changes were requested.
+     */
+    private final ArrayList<T> pending = new ArrayList<>();
+
+    /**
+     * Flags of the pending changes: true - add, false - remove.
+     */
+    private final ArrayList<Boolean> pendingAdds = new ArrayList<>();
+
+    /**
+     * The action run once the outermost iteration is finished.
+     */
+    private final Runnable afterIteration;
+
+    /**
+     * Create an empty collection.
+     */
+    public EntityList() {
+        this(null);
+    }
+
+    /**
+     * Create an empty collection notifying its owner of finished iterations,
+     * e.g. to release what entities removed during the iteration hold.
+     *
+     * @param afterIteration An action run once the outermost iteration is
+     *                       finished and pending changes are applied.
+     */
+    public EntityList(Runnable afterIteration) {
+        this.afterIteration = afterIteration;
+    }
+
+    /**
+     * Add the entity to the end of the collection if it is not there yet.
+     *
+     * @param entity An entity to add.
+     * @return true if the entity was added (or will be after the iteration).
+     */
+    public boolean add(T entity) {
+        if(iterations > 0) {
+            pending.add(entity);
+            pendingAdds.add(Boolean.TRUE);
+            return true;
+        }
+
+        if(indices.containsKey(entity)) {
+            return false;
+        }
+
+        if(size == entities.length) {
+            entities = Arrays.copyOf(entities, size * 2);
+        }
+
+        indices.put(entity, size);
+        entities[size++] = entity;
+        return true;
+    }
+
+    /**
+     * Remove the entity, moving the last entity to its place.
+     *
+     * @param entity An entity to remove.
+     * @return true if the entity was removed (or will be after the iteration).
+     */
+    public boolean remove(T entity) {
+        if(iterations > 0) {
+            pending.add(entity);
+            pendingAdds.add(Boolean.FALSE);
+            return true;
+        }
+
+        Integer index = indices.remove(entity);
+        if(index == null) {
+            return false;
+        }
+
+        int last = --size;
+        if(index != last) {
+            @SuppressWarnings("unchecked")
+            T moved = (T) entities[last];
+
+            entities[index] = moved;
+            indices.put(moved, index);
+        }
+
+        entities[last] = null;
+        return true;
+    }
+
+    /**
+     * @param entity An entity to look for.
+     * @return true if the entity is in the collection.
+     */
+    public boolean contains(T entity) {
+        return indices.containsKey(entity);
+    }
+
+    /**
+     * @param index A position from 0 to size() - 1.
+     * @return The entity at the given position.
+     */
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        if(index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+
+        return (T) entities[index];
+    }
+
+    /**
+     * @return The number of entities.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no entities.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return true if the collection is being iterated by forEach().
+     */
+    public boolean isIterating() {
+        return iterations > 0;
+    }
+
+    /**
+     * Perform the action for each entity. The collection may be changed
+     * by the action, such changes are applied after the iteration.
+     *
+     * @param action An action to perform.
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(Consumer<? super T> action) {
+        iterations++;
+
+        try {
+            for(int i = 0; i < size; i++) {
+                action.accept((T) entities[i]);
+            }
+        } finally {
+            if(--iterations == 0) {
+                if(!pending.isEmpty()) {
+                    applyPending();
+                }
+
+                if(afterIteration != null) {
+                    afterIteration.run();
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove all entities.
+     */
+    public void clear() {
+        Arrays.fill(entities, 0, size, null);
+        size = 0;
+        indices.clear();
+
+        pending.clear();
+        pendingAdds.clear();
+    }
+
+    /**
+     * Apply the changes put aside during the iteration.
+     */
+    private void applyPending() {
+        for(int i = 0; i < pending.size(); i++) {
+            if(pendingAdds.get(i)) {
+                add(pending.get(i));
+            } else {
+                remove(pending.get(i));
+            }
+        }
+
+        pending.clear();
+        pendingAdds.clear();
+    }
+}
@@ -0,0 +1,94 @@
+package com.game.View;
+
+import com.game.Util.MetricsCenter;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A single widget drawing the whole scene. Creatures are not added to
+ * this canvas as children, instead each registered creature is drawn
+ * on the canvas' Graphics object in one pass, so there is no Swing
+ * hierarchy to lay out and repainting the scene costs a single paint
+ * request no matter how many creatures are in game. Only the creatures
+ * seen by the Camera are drawn, as of the latest frame of a SceneBuffer.
+ *
+ * @see com.game.View.RenderMode
+ * @see com.game.View.SceneBuffer
+ * @see com.game.View.Camera
+ * @see com.game.Model.Creature
+ */
+public class GameCanvas extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Frames of the scene drawn.
+     */
+    private final SceneBuffer scenes;
+
+    /**
+     * Create a new opaque canvas with the given background drawing
+     * frames of its own buffer.
+     *
+     * @param background The scene's background color.
+     */
+    public GameCanvas(Color background) {
+        this(background, new SceneBuffer());
+    }
+
+    /**
+     * Create a new opaque canvas with the given background.
+     *
+     * @param background The scene's background color.
+     * @param scenes     Frames of the scene to draw.
+     */
+    public GameCanvas(Color background, SceneBuffer scenes) {
+        this.scenes = scenes;
+
+        setOpaque(true);
+        setBackground(background);
+        setDoubleBuffered(true);
+    }
+
+    /**
+     * Draw the scene on the canvas.
+     *
+     * @param g The Graphics object we use to paint the scene on.
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        long start = System.nanoTime();
+        drawScene(g);
+        MetricsCenter.renderTime(System.nanoTime() - start);
+
+        MetricsOverlay.draw(g);
+    }
+
+    /**
+     * @return Frames of the scene drawn.
+     */
+    public SceneBuffer getScenes() {
+        return scenes;
+    }
+
+    /**
+     * Fill the background and draw the latest frame over it. May be used
+     * to draw the scene off the screen, e.g. into an image of the canvas'
+     * size.
+     *
+     * @param g The Graphics object to draw the scene on.
+     */
+    public void drawScene(Graphics g) {
+        g.setColor(getBackground());
+        g.fillRect(0, 0, getWidth(), getHeight());
+
+        SceneBuffer.Frame frame = scenes.getFront();
+        int cameraX = frame.getCameraX(), cameraY = frame.getCameraY();
+
+        // platforms first, so the players are on top
+        for(int i = 0; i < frame.size(); i++) {
+            g.drawImage(frame.getCreature(i).getImage(), frame.getX(i) - cameraX, frame.getY(i) - cameraY,
+                    frame.getWidth(i), frame.getHeight(i), null);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.game.View;
+
+import com.game.Util.MetricsCenter;
+
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * A transparent widget showing the last MetricsCenter snapshot over the
+ * scene when the overlay is switched on. Canvases drawing the scene
+ * themselves call draw() after the scene instead, the widget is used when
+ * creatures are shown by widgets of their own.
+ *
+ * @see com.game.Util.MetricsCenter
+ * @see com.game.View.GameCanvas
+ * @see com.game.View.ActiveCanvas
+ */
+public class MetricsOverlay extends JComponent {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The overlay's font.
+     */
+    private static final Font FONT = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    /**
+     * The overlay's background.
+     */
+    private static final Color BACKGROUND = new Color(0, 0, 0, 160);
+
+    /**
+     * Create a transparent overlay.
+     */
+    public MetricsOverlay() {
+        setOpaque(false);
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        draw(g);
+    }
+
+    /**
+     * Draw the last snapshot in the top left corner if the overlay is
+     * switched on.
+     *
+     * @param g The Graphics object to draw on.
+     */
+    public static void draw(Graphics g) {
+        if(!MetricsCenter.isOverlayVisible()) {
+            return;
+        }
+
+        MetricsCenter.Snapshot snapshot = MetricsCenter.getSnapshot();
+        String[] lines = {
+                "FPS " + snapshot.getFramesPerSecond() + ", dropped frames " + snapshot.getDroppedFrames() +
+                        ", dropped ticks " + snapshot.getDroppedTicks(),
+                "tick      " + snapshot.getTick(),
+                "collision " + snapshot.getCollision(),
+                "render    " + snapshot.getRender(),
+                "entities " + snapshot.getEntities() + " (players " + snapshot.getPlayers() +
+                        ", platforms " + snapshot.getPlatforms() + ")"
+        };
+
+        g.setFont(FONT);
+        FontMetrics metrics = g.getFontMetrics();
+
+        int width = 0;
+        for(String line : lines) {
+            width = Math.max(width, metrics.stringWidth(line));
+        }
+
+        g.setColor(BACKGROUND);
+        g.fillRect(4, 4, width + 12, lines.length * metrics.getHeight() + 8);
+
+        g.setColor(Color.white);
+        for(int i = 0; i < lines.length; i++) {
+            g.drawString(lines[i], 10, 8 + metrics.getAscent() + i * metrics.getHeight());
+        }
+    }
+}
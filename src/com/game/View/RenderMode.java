@@ -0,0 +1,50 @@
+package com.game.View;
+
+/**
+ * Ways to display creatures on the screen. The mode is chosen once
+ * at start-up by the "snake.render" system property, e.g.
+ * -Dsnake.render=components.
+ *
+ * @see com.game.View.GameCanvas
+ * @see com.game.View.ActiveCanvas
+ */
+public enum RenderMode {
+    /**
+     * Every creature is a separate widget added to the game panel.
+     */
+    COMPONENTS,
+
+    /**
+     * All creatures are drawn by a single GameCanvas in one pass.
+     */
+    CANVAS,
+
+    /**
+     * All creatures are drawn by an ActiveCanvas into a BufferStrategy
+     * on each frame of the game loop.
+     */
+    ACTIVE;
+
+    /**
+     * The system property used to choose the mode.
+     */
+    public static final String PROPERTY = "snake.render";
+
+    /**
+     * @return The mode set by the system property or CANVAS if it
+     *         is not set or unknown.
+     */
+    public static RenderMode fromProperty() {
+        String value = System.getProperty(PROPERTY);
+
+        if(value != null) {
+            for(RenderMode mode : values()) {
+                if(mode.name().equalsIgnoreCase(value.trim())) {
+                    return mode;
+                }
+            }
+        }
+
+        return CANVAS;
+    }
+}
@@ -0,0 +1,274 @@
+package com.game.View;
+
+import com.game.Model.Creature;
+import com.game.Model.Player;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Frames of the scene passed from the thread advancing the world to the
+ * event dispatch thread. The world is changed by the GameLoop's thread
+ * only, so it is not drawn directly: once the world was advanced, the
+ * loop's thread captures a Frame, i.e. the creatures the Camera sees
+ * with their bounds, the camera's position and the player's state, and
+ * the canvases draw the latest captured frame.
+ *
+ * The buffer keeps three frames: the one being captured, the latest
+ * captured one and the one being drawn. The capturing thread and the
+ * event dispatch thread only exchange the latest frame under a short
+ * lock, so neither of them waits for the other one to finish its work,
+ * and a frame captured before the previous one was drawn replaces it.
+ * Frames are reused, so capturing allocates nothing once their arrays
+ * have grown to the number of creatures on the screen.
+ *
+ * While the loop is stopped, frames may be captured on the event
+ * dispatch thread, e.g. to show a new game before its loop is started.
+ *
+ * @see com.game.Handler.GameLoop
+ * @see com.game.View.Camera
+ * @see com.game.View.GameCanvas
+ * @see com.game.View.ActiveCanvas
+ */
+public final class SceneBuffer {
+    /**
+     * The frame being captured (the capturing thread only).
+     */
+    private Frame back = new Frame();
+
+    /**
+     * The latest captured frame.
+     */
+    private Frame ready = new Frame();
+
+    /**
+     * The frame being drawn (the event dispatch thread only).
+     */
+    private Frame front = new Frame();
+
+    /**
+     * Either the latest captured frame was not taken yet.
+     */
+    private boolean fresh = false;
+
+    /**
+     * The number of frames captured.
+     */
+    private long captured = 0;
+
+    /**
+     * Capture the scene as the Camera sees it now and make it the latest
+     * frame. Should be invoked by the thread advancing the world.
+     *
+     * @param player The player shown (null if there is none).
+     */
+    public void capture(Player player) {
+        back.capture(++captured, player);
+
+        synchronized(this) {
+            Frame frame = ready;
+            ready = back;
+            back = frame;
+            fresh = true;
+        }
+    }
+
+    /**
+     * Take the latest captured frame if it was not taken yet. Should be
+     * invoked on the event dispatch thread.
+     *
+     * @return The frame to draw, valid until the next call.
+     */
+    public synchronized Frame getFront() {
+        if(fresh) {
+            Frame frame = front;
+            front = ready;
+            ready = frame;
+            fresh = false;
+        }
+
+        return front;
+    }
+
+    /**
+     * The creatures seen by the camera at a moment, platforms in the order
+     * of their entities and then players, so the players are drawn on top.
+     */
+    public static final class Frame {
+        /**
+         * The frame's number, 0 for a frame not captured yet.
+         */
+        private long number = 0;
+
+        /**
+         * The camera's position in the world.
+         */
+        private int cameraX, cameraY;
+
+        // the creatures seen
+
+        private int size = 0;
+        private Creature[] creatures = new Creature[64];
+        private int[] indices = new int[64];
+        private int[] xs      = new int[64];
+        private int[] ys      = new int[64];
+        private int[] widths  = new int[64];
+        private int[] heights = new int[64];
+
+        // the player
+
+        private final Rectangle player = new Rectangle();
+        private boolean playerMoving = false;
+
+        /**
+         * Platforms found by the camera.
+         */
+        private final List<Creature> visible = new ArrayList<>();
+
+        private Frame() { }
+
+        private void capture(long number, Player player) {
+            this.number = number;
+            cameraX = Camera.getX();
+            cameraY = Camera.getY();
+            size = 0;
+
+            Camera.findVisiblePlatforms(visible);
+            for(int i = 0; i < visible.size(); i++) {
+                add(visible.get(i));
+            }
+            visible.clear();
+
+            EntityList<Player> players = CustomStorage.getPlayers();
+            for(int i = 0; i < players.size(); i++) {
+                if(Camera.isVisible(players.get(i))) {
+                    add(players.get(i));
+                }
+            }
+
+            if(player != null) {
+                this.player.setBounds(player.getX(), player.getY(), player.getWidth(), player.getHeight());
+                playerMoving = player.getMovementState();
+            } else {
+                this.player.setBounds(0, 0, 0, 0);
+                playerMoving = false;
+            }
+        }
+
+        private void add(Creature creature) {
+            if(size == creatures.length) {
+                int capacity = size * 2;
+                creatures = Arrays.copyOf(creatures, capacity);
+                indices = Arrays.copyOf(indices, capacity);
+                xs = Arrays.copyOf(xs, capacity);
+                ys = Arrays.copyOf(ys, capacity);
+                widths = Arrays.copyOf(widths, capacity);
+                heights = Arrays.copyOf(heights, capacity);
+            }
+
+            creatures[size] = creature;
+            indices[size] = creature.getIndex();
+            xs[size] = creature.getX();
+            ys[size] = creature.getY();
+            widths[size] = creature.getWidth();
+            heights[size] = creature.getHeight();
+            size++;
+        }
+
+        /**
+         * @return The frame's number, growing with each captured frame
+         *         (0 if the frame was not captured yet).
+         */
+        public long getNumber() {
+            return number;
+        }
+
+        /**
+         * @return The X-coordinate of the viewport's top left corner in the world.
+         */
+        public int getCameraX() {
+            return cameraX;
+        }
+
+        /**
+         * @return The Y-coordinate of the viewport's top left corner in the world.
+         */
+        public int getCameraY() {
+            return cameraY;
+        }
+
+        /**
+         * @param screenX An X-coordinate on the screen (the canvas).
+         * @return The X-coordinate in the world as of this frame.
+         */
+        public int toWorldX(int screenX) {
+            return screenX + cameraX;
+        }
+
+        /**
+         * @param screenY An Y-coordinate on the screen (the canvas).
+         * @return The Y-coordinate in the world as of this frame.
+         */
+        public int toWorldY(int screenY) {
+            return screenY + cameraY;
+        }
+
+        /**
+         * @return The number of creatures seen.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @param i A creature's number in the frame.
+         * @return The creature, e.g. to get its image.
+         */
+        public Creature getCreature(int i) {
+            return creatures[i];
+        }
+
+        /**
+         * @param i A creature's number in the frame.
+         * @return The index of the creature's entity.
+         */
+        public int getIndex(int i) {
+            return indices[i];
+        }
+
+        public int getX(int i) {
+            return xs[i];
+        }
+
+        public int getY(int i) {
+            return ys[i];
+        }
+
+        public int getWidth(int i) {
+            return widths[i];
+        }
+
+        public int getHeight(int i) {
+            return heights[i];
+        }
+
+        /**
+         * @param x An X-coordinate in the world.
+         * @param y An Y-coordinate in the world.
+         * @return true if the point is inside the player's bounds.
+         */
+        public boolean isOnPlayer(int x, int y) {
+            return x > player.x && x < player.x + player.width && y > player.y && y < player.y + player.height;
+        }
+
+        /**
+         * @return true if the player was able to move, i.e. the game was
+         *         not over.
+         */
+        public boolean isPlayerMoving() {
+            return playerMoving;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.game.View;
+
+import java.awt.*;
+import java.awt.image.VolatileImage;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * A cache of creatures' images converted into VolatileImage objects
+ * compatible with the screen, so drawing a sprite is a plain (and, if
+ * it is supported, accelerated) copy instead of scaling the original
+ * image through an ImageObserver. Volatile images may lose their contents
+ * at any time (e.g. after the display mode was changed), so each sprite
+ * is validated before it is handed out and restored from the original
+ * image if it is necessary.
+ *
+ * @see java.awt.image.VolatileImage
+ * @see com.game.View.ActiveCanvas
+ */
+public final class SpriteCache {
+    /**
+     * Converted sprites by their original images.
+     */
+    private final Map<Image, VolatileImage> sprites = new IdentityHashMap<>();
+
+    /**
+     * The screen configuration the sprites are compatible with.
+     */
+    private GraphicsConfiguration configuration;
+
+    /**
+     * Create a cache of sprites compatible with the given configuration.
+     *
+     * @param configuration The screen configuration of the canvas.
+     */
+    public SpriteCache(GraphicsConfiguration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Update the screen configuration, e.g. when the window was moved to
+     * another screen. Sprites are re-created on their next use.
+     *
+     * @param configuration The new screen configuration.
+     */
+    public void setConfiguration(GraphicsConfiguration configuration) {
+        if(this.configuration != configuration) {
+            this.configuration = configuration;
+            flush();
+        }
+    }
+
+    /**
+     * Get a ready to draw sprite of the given image, converting the
+     * image on its first use and restoring the lost contents.
+     *
+     * @param img An original image.
+     * @return The screen compatible sprite with the image's contents.
+     */
+    public Image get(Image img) {
+        VolatileImage sprite = sprites.get(img);
+
+        if(sprite == null) {
+            sprite = create(img);
+        } else {
+            switch(sprite.validate(configuration)) {
+                case VolatileImage.IMAGE_INCOMPATIBLE:
+                    sprite.flush();
+                    sprite = create(img);
+                    break;
+                case VolatileImage.IMAGE_RESTORED:
+                    copy(img, sprite);
+                    break;
+            }
+        }
+
+        return sprite;
+    }
+
+    /**
+     * Release all sprites.
+     */
+    public void flush() {
+        for(VolatileImage sprite : sprites.values()) {
+            sprite.flush();
+        }
+
+        sprites.clear();
+    }
+
+    /**
+     * Create a new sprite of the image and put it in the cache.
+     *
+     * @param img An original image.
+     * @return The new sprite.
+     */
+    private VolatileImage create(Image img) {
+        VolatileImage sprite = configuration.createCompatibleVolatileImage(
+                img.getWidth(null), img.getHeight(null), Transparency.TRANSLUCENT);
+        copy(img, sprite);
+
+        sprites.put(img, sprite);
+        return sprite;
+    }
+
+    /**
+     * Copy the image's pixels (including transparent ones) into the sprite.
+     *
+     * @param img    An original image.
+     * @param sprite The sprite of this image.
+     */
+    private static void copy(Image img, VolatileImage sprite) {
+        Graphics2D g = sprite.createGraphics();
+
+        try {
+            g.setComposite(AlphaComposite.Src);
+            g.drawImage(img, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+    }
+}